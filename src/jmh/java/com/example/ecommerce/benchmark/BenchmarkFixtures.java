@@ -0,0 +1,56 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.Role;
+import com.example.ecommerce.model.Tag;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+// Entities shaped like the ones the API serves, built without a database
+final class BenchmarkFixtures {
+    static final String SECRET_KEY = "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Product product(int tagCount) {
+        Product product = new Product(42L);
+        product.setName("Mechanical Keyboard");
+        product.setDescription("Tenkeyless keyboard with hot-swappable switches");
+        product.setPrice(new BigDecimal("89.99"));
+        product.setStockQuantity(120);
+
+        Set<Tag> tags = new HashSet<>();
+        for (long i = 1; i <= tagCount; i++) {
+            Tag tag = new Tag();
+            ReflectionTestUtils.setField(tag, "id", i);
+            tag.setName("tag-" + i);
+            tags.add(tag);
+        }
+        product.setTags(tags);
+        return product;
+    }
+
+    static Customer customer(int roleCount) {
+        Customer customer = new Customer(7L);
+        customer.setUsername("john.doe");
+        customer.setFullName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0768685765");
+
+        Set<Role> roles = new HashSet<>();
+        for (long i = 1; i <= roleCount; i++) {
+            Role role = new Role();
+            ReflectionTestUtils.setField(role, "id", i);
+            role.setName("ROLE_" + i);
+            roles.add(role);
+        }
+        customer.setRoles(roles);
+        return customer;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.model.Customer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerAuthoritiesBenchmark {
+    @Param({"1", "3", "10"})
+    private int roleCount;
+
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkFixtures.customer(roleCount);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return customer.getAuthorities();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.EcommerceApplication;
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the real application: bursts of concurrent authenticated GET /api/products?limit=50 through Tomcat,
+// the JWT filter, Spring MVC, Hibernate and the database. Each fork starts the app in one threading mode.
+// The datasource is the one in application.properties, pass another with -jvmArgsAppend "-Dspring.datasource.url=...".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EndpointLoadBenchmark {
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"500"})
+    private int concurrentRequests;
+
+    @Param({"20"})
+    private int connectionPoolSize;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private Category category;
+    private Customer customer;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(EcommerceApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + connectionPoolSize,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--outbox.relay.enabled=false",
+                "--analytics.rollup.enabled=false",
+                "--trending.snapshot.enabled=false");
+        seed();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JwtService.class).generateToken(customer);
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().executor(clients).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products?limit=50"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(ProductRepository.class).deleteAll(products);
+        context.getBean(CategoryRepository.class).delete(category);
+        context.getBean(CustomerRepository.class).delete(customer);
+        httpClient.close();
+        clients.shutdownNow();
+        context.close();
+    }
+
+    // One operation is the whole burst, so the score is bursts per second
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(clients.submit(this::get));
+        }
+
+        long bytes = 0;
+        for (Future<Integer> response : responses) {
+            bytes += response.get();
+        }
+        return bytes;
+    }
+
+    private int get() throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/products returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private void seed() {
+        String suffix = Long.toString(System.nanoTime());
+        Category newCategory = new Category();
+        newCategory.setName("Load Test " + suffix);
+        category = context.getBean(CategoryRepository.class).save(newCategory);
+
+        List<Product> newProducts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Product product = new Product();
+            product.setName("Load Test Product " + i);
+            product.setDescription("Seeded by EndpointLoadBenchmark");
+            product.setPrice(new BigDecimal("19.99"));
+            product.setStockQuantity(100);
+            product.setCategory(category);
+            newProducts.add(product);
+        }
+        products = context.getBean(ProductRepository.class).saveAll(newProducts);
+
+        Customer newCustomer = new Customer();
+        newCustomer.setUsername("load.test." + suffix);
+        newCustomer.setFullName("Load Test");
+        newCustomer.setEmail("load.test." + suffix + "@example.com");
+        newCustomer.setPassword("password");
+        newCustomer.setPhone("0700000000");
+        customer = context.getBean(CustomerRepository.class).save(newCustomer);
+    }
+}
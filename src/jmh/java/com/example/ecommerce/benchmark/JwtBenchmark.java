@@ -0,0 +1,59 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final long ONE_HOUR = 3_600_000;
+
+    private JwtService cachedJwtService;
+    private JwtParser jwtParser;
+    private Customer customer;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtService = new JwtService(BenchmarkFixtures.SECRET_KEY, ONE_HOUR, 10_000, new SimpleMeterRegistry());
+        // Same parser JwtService builds, used to measure what a verified-token cache miss costs
+        jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.SECRET_KEY)))
+                .build();
+        customer = BenchmarkFixtures.customer(2);
+        token = cachedJwtService.generateToken(customer);
+    }
+
+    @Benchmark
+    public String extractUsername_Cached() {
+        return cachedJwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Claims parseAndVerify_CacheMiss() {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public boolean isTokenValid_Cached() {
+        return cachedJwtService.isTokenValid(token, customer);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtService.generateToken(customer);
+    }
+}
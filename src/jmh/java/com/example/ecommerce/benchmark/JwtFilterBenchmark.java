@@ -0,0 +1,71 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.security.PrincipalSource;
+import com.example.ecommerce.security.audit.AuthEventLog;
+import com.example.ecommerce.security.filter.JwtFilter;
+import com.example.ecommerce.service.CustomerService;
+import com.example.ecommerce.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Whole filter pass for one authenticated request, including the mock request/response allocation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    @Param({"CLAIMS", "DATABASE"})
+    private PrincipalSource principalSource;
+
+    private JwtFilter jwtFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        Customer customer = BenchmarkFixtures.customer(2);
+        JwtService jwtService = new JwtService(BenchmarkFixtures.SECRET_KEY, 3_600_000, 10_000, new SimpleMeterRegistry());
+        // Stands in for a user-details cache hit, so DATABASE measures the filter and not a repository
+        CustomerService customerService = new CustomerService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return customer;
+            }
+        };
+
+        AuthEventLog authEventLog = new AuthEventLog(new SimpleMeterRegistry(), 8192, 1000, 100, 1, 1);
+        jwtFilter = new JwtFilter(jwtService, customerService, (request, response, handler, ex) -> null, principalSource, authEventLog);
+        authorizationHeader = "Bearer " + jwtService.generateToken(customer);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
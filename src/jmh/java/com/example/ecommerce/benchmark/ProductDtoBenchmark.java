@@ -0,0 +1,34 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductDtoBenchmark {
+    @Param({"0", "5", "50"})
+    private int tagCount;
+
+    private ProductService productService;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        // convertToDto only reads the entity, none of the repositories are touched
+        productService = new ProductService(null, null, null);
+        product = BenchmarkFixtures.product(tagCount);
+    }
+
+    @Benchmark
+    public ProductDto convertToDto() {
+        return productService.convertToDto(product);
+    }
+}
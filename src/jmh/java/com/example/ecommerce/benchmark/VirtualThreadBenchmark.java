@@ -0,0 +1,88 @@
+package com.example.ecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Models a burst of blocking requests: each holds one of the pool's connections while it waits on the
+// database, optionally blocks on something else (remote call, slow client), then does a little CPU work.
+// Platform executors are capped at Tomcat's default 200 threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    @Param({"20", "100"})
+    private int connectionPoolSize;
+
+    @Param({"5"})
+    private int queryMillis;
+
+    @Param({"0", "20"})
+    private int otherBlockingMillis;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threads;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("VIRTUAL")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        connections = new Semaphore(connectionPoolSize, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // One operation is the whole burst, so the score is bursts per second
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(executor.submit(this::handleRequest));
+        }
+
+        long checksum = 0;
+        for (Future<Long> response : responses) {
+            checksum += response.get();
+        }
+        return checksum;
+    }
+
+    private long handleRequest() throws InterruptedException {
+        connections.acquire();
+        try {
+            Thread.sleep(queryMillis);
+        } finally {
+            connections.release();
+        }
+        if (otherBlockingMillis > 0) {
+            Thread.sleep(otherBlockingMillis);
+        }
+
+        long hash = 17;
+        for (int i = 0; i < 1_000; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash;
+    }
+}
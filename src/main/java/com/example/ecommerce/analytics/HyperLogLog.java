@@ -0,0 +1,116 @@
+package com.example.ecommerce.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Approximate distinct counter: 1024 one-byte registers, about 3% standard error at any cardinality.
+ * Sketches merge losslessly, so the distinct count of a union of buckets comes from their stored sketches
+ * without going back to the raw rows. A sketch with few non-empty registers serializes sparsely,
+ * two bytes per register, so small buckets stay small on disk.
+ */
+public class HyperLogLog {
+    private static final int PRECISION = 10;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Position of the first 1-bit after the index bits, at most 55
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Small cardinalities: linear counting over the empty registers is far more accurate
+        if (estimate <= 2.5 * REGISTERS && empty > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        int used = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                used++;
+            }
+        }
+        if (2 * used >= REGISTERS) {
+            byte[] dense = new byte[1 + REGISTERS];
+            dense[0] = DENSE;
+            System.arraycopy(registers, 0, dense, 1, REGISTERS);
+            return dense;
+        }
+
+        // Each used register packs into a short, 10 bits of index and 6 of rank
+        ByteBuffer sparse = ByteBuffer.allocate(1 + 2 * used).put(SPARSE);
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                sparse.putShort((short) (i << 6 | registers[i]));
+            }
+        }
+        return sparse.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return new HyperLogLog();
+        }
+        if (bytes[0] == DENSE) {
+            if (bytes.length != 1 + REGISTERS) {
+                throw new IllegalArgumentException("Dense sketch must hold " + REGISTERS + " registers");
+            }
+            return new HyperLogLog(Arrays.copyOfRange(bytes, 1, bytes.length));
+        }
+
+        byte[] registers = new byte[REGISTERS];
+        ByteBuffer sparse = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        while (sparse.remaining() >= 2) {
+            int entry = sparse.getShort() & 0xFFFF;
+            registers[entry >>> 6] = (byte) (entry & 0x3F);
+        }
+        return new HyperLogLog(registers);
+    }
+
+    // SplitMix64 finalizer, sequential ids need a well-spread hash before their bits pick registers
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
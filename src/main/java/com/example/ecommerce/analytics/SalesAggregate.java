@@ -0,0 +1,65 @@
+package com.example.ecommerce.analytics;
+
+import com.example.ecommerce.model.SalesRollup;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Running sales totals for one rollup key, fed either raw order lines (when building an hour)
+ * or finished rollups (when merging hours into a day, or buckets into a range total).
+ * Rollups add up exactly except for distinct customers, which merge through their sketches.
+ */
+public class SalesAggregate {
+    private final Set<Long> lineOrderIds = new HashSet<>();
+    private final HyperLogLog customers = new HyperLogLog();
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private long units;
+    private long orderCount;
+
+    public SalesAggregate addLine(Long orderId, Long customerId, BigDecimal price, int quantity) {
+        revenue = revenue.add(price.multiply(BigDecimal.valueOf(quantity)));
+        units += quantity;
+        // An order with several lines under the same key is still one order
+        if (lineOrderIds.add(orderId)) {
+            orderCount++;
+        }
+        if (customerId != null) {
+            customers.add(customerId);
+        }
+        return this;
+    }
+
+    // An order only ever falls into one hour, so order counts of different buckets simply add up
+    public SalesAggregate addRollup(SalesRollup rollup) {
+        revenue = revenue.add(rollup.getRevenue());
+        units += rollup.getUnits();
+        orderCount += rollup.getOrderCount();
+        customers.merge(HyperLogLog.fromBytes(rollup.getCustomerSketch()));
+        return this;
+    }
+
+    public void writeTo(SalesRollup rollup) {
+        rollup.setRevenue(revenue);
+        rollup.setUnits(units);
+        rollup.setOrderCount(orderCount);
+        rollup.setCustomerSketch(customers.toBytes());
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getDistinctCustomers() {
+        return customers.estimate();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ecommerce.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters over a weighted stream of ids, in at most capacity counters whatever the number of
+ * distinct ids. When full, a new id takes over the smallest counter and inherits its count as error, so every
+ * count overestimates by at most its error and any id holding more than total/capacity of the weight is kept.
+ * Not thread-safe.
+ */
+public class SpaceSaving {
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingLong(Counter::count).thenComparingLong(Counter::item);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    // Estimated count, never below the true one; guaranteed() is never above it
+    public record Counter(long item, long count, long error) {
+        public long guaranteed() {
+            return count - error;
+        }
+    }
+
+    public void add(long item, long weight) {
+        total += weight;
+        Counter existing = counters.get(item);
+        if (existing != null) {
+            byCount.remove(existing);
+            put(new Counter(item, existing.count() + weight, existing.error()));
+        } else if (counters.size() < capacity) {
+            put(new Counter(item, weight, 0));
+        } else {
+            Counter smallest = byCount.pollFirst();
+            counters.remove(smallest.item());
+            put(new Counter(item, smallest.count() + weight, smallest.count()));
+        }
+    }
+
+    // Largest counts first
+    public List<Counter> top(int limit) {
+        List<Counter> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> largest = byCount.descendingIterator();
+        while (top.size() < limit && largest.hasNext()) {
+            top.add(largest.next());
+        }
+        return top;
+    }
+
+    public List<Counter> counters() {
+        return top(counters.size());
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Combines summaries of disjoint parts of a stream. An id missing from a full part may still have had up to
+     * that part's smallest count there, which is added to its count and error, then the largest counters are kept.
+     */
+    public static SpaceSaving merge(List<SpaceSaving> parts, int capacity) {
+        Map<Long, long[]> merged = new HashMap<>();
+        long total = 0;
+        for (SpaceSaving part : parts) {
+            total += part.total;
+            part.counters.keySet().forEach(item -> merged.putIfAbsent(item, new long[2]));
+        }
+        for (SpaceSaving part : parts) {
+            long floor = part.counters.size() < part.capacity ? 0 : part.byCount.first().count();
+            merged.forEach((item, sums) -> {
+                Counter counter = part.counters.get(item);
+                sums[0] += counter != null ? counter.count() : floor;
+                sums[1] += counter != null ? counter.error() : floor;
+            });
+        }
+
+        List<Counter> largest = merged.entrySet().stream()
+                .map(entry -> new Counter(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(BY_COUNT.reversed())
+                .limit(capacity)
+                .toList();
+        return restore(capacity, largest, total);
+    }
+
+    public static SpaceSaving restore(int capacity, List<Counter> counters, long total) {
+        SpaceSaving summary = new SpaceSaving(capacity);
+        counters.stream().sorted(BY_COUNT.reversed()).limit(capacity).forEach(summary::put);
+        summary.total = total;
+        return summary;
+    }
+
+    private void put(Counter counter) {
+        counters.put(counter.item(), counter);
+        byCount.add(counter);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.ecommerce.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Best sellers over a sliding window made of a ring of fixed-width time buckets. Each bucket holds a Space-Saving
+ * summary of the whole store and one per category, for at most maxCategories categories: a new category pushes out
+ * the one that sold least in that bucket. Memory stays within buckets x (1 + maxCategories) x capacity counters
+ * however large the catalog. Windows are rounded up to whole buckets. Thread-safe.
+ */
+public class TrendingWindow {
+    private final long bucketMillis;
+    private final int capacity;
+    private final int maxCategories;
+    private final Bucket[] buckets;
+
+    public TrendingWindow(Duration bucketWidth, int bucketCount, int capacity, int maxCategories) {
+        this.bucketMillis = bucketWidth.toMillis();
+        this.capacity = capacity;
+        this.maxCategories = maxCategories;
+        this.buckets = new Bucket[bucketCount];
+    }
+
+    public record Summary(long total, List<SpaceSaving.Counter> counters) {
+        static Summary of(SpaceSaving summary) {
+            return new Summary(summary.total(), summary.counters());
+        }
+    }
+
+    public record BucketSnapshot(long epoch, Summary all, Map<Long, Summary> categories) {
+    }
+
+    public Duration maxWindow() {
+        return Duration.ofMillis(bucketMillis * buckets.length);
+    }
+
+    // Sales dated after now are dropped like expired ones, a future bucket would recycle a slot still in the window
+    public synchronized void record(Instant at, long productId, Long categoryId, long quantity, Instant now) {
+        long epoch = epochOf(at);
+        long newest = epochOf(now);
+        if (epoch > newest || epoch <= newest - buckets.length) {
+            return;
+        }
+        Bucket bucket = bucketFor(epoch);
+        if (bucket == null) {
+            return;
+        }
+        bucket.all.add(productId, quantity);
+        if (categoryId != null) {
+            bucket.category(categoryId).add(productId, quantity);
+        }
+    }
+
+    // Largest sellers of the store, or of one category, in the buckets covering the window that ends now
+    public List<SpaceSaving.Counter> top(Instant now, Duration window, Long categoryId, int limit) {
+        return summary(now, window, categoryId).top(limit);
+    }
+
+    // The buckets covering the window merged into one summary, to be merged in turn with other nodes' windows
+    public synchronized SpaceSaving summary(Instant now, Duration window, Long categoryId) {
+        long newest = epochOf(now);
+        long span = Math.min(buckets.length, Math.ceilDiv(window.toMillis(), bucketMillis));
+        List<SpaceSaving> parts = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            if (bucket == null || bucket.epoch > newest || bucket.epoch <= newest - span) {
+                continue;
+            }
+            SpaceSaving part = categoryId == null ? bucket.all : bucket.categories.get(categoryId);
+            if (part != null) {
+                parts.add(part);
+            }
+        }
+        return SpaceSaving.merge(parts, capacity);
+    }
+
+    public synchronized List<BucketSnapshot> snapshot() {
+        List<BucketSnapshot> snapshots = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+            Map<Long, Summary> categories = new HashMap<>();
+            bucket.categories.forEach((id, summary) -> categories.put(id, Summary.of(summary)));
+            snapshots.add(new BucketSnapshot(bucket.epoch, Summary.of(bucket.all), categories));
+        }
+        return snapshots;
+    }
+
+    // Buckets the window has moved past are dropped, buckets already written to since startup are merged
+    public synchronized void restore(List<BucketSnapshot> snapshots, Instant now) {
+        long newest = epochOf(now);
+        for (BucketSnapshot snapshot : snapshots) {
+            if (snapshot.epoch() > newest || snapshot.epoch() <= newest - buckets.length) {
+                continue;
+            }
+            Bucket bucket = bucketFor(snapshot.epoch());
+            if (bucket == null) {
+                continue;
+            }
+            bucket.all = merge(bucket.all, snapshot.all());
+            snapshot.categories().entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> -entry.getValue().total()))
+                    .forEach(entry -> {
+                        SpaceSaving current = bucket.category(entry.getKey());
+                        bucket.categories.put(entry.getKey(), merge(current, entry.getValue()));
+                    });
+        }
+    }
+
+    private SpaceSaving merge(SpaceSaving current, Summary restored) {
+        SpaceSaving snapshot = SpaceSaving.restore(capacity, restored.counters(), restored.total());
+        return current.total() == 0 ? snapshot : SpaceSaving.merge(List.of(current, snapshot), capacity);
+    }
+
+    private long epochOf(Instant at) {
+        return Math.floorDiv(at.toEpochMilli(), bucketMillis);
+    }
+
+    // The bucket for an epoch, recycling its slot if that still holds an older epoch; null if the slot is newer
+    private Bucket bucketFor(long epoch) {
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length);
+        Bucket bucket = buckets[slot];
+        if (bucket == null || bucket.epoch < epoch) {
+            bucket = new Bucket(epoch);
+            buckets[slot] = bucket;
+        }
+        return bucket.epoch == epoch ? bucket : null;
+    }
+
+    private class Bucket {
+        private final long epoch;
+        private SpaceSaving all = new SpaceSaving(capacity);
+        private final Map<Long, SpaceSaving> categories = new HashMap<>();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private SpaceSaving category(long categoryId) {
+            SpaceSaving summary = categories.get(categoryId);
+            if (summary != null) {
+                return summary;
+            }
+            if (categories.size() >= maxCategories) {
+                categories.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().total()))
+                        .ifPresent(smallest -> categories.remove(smallest.getKey()));
+            }
+            summary = new SpaceSaving(capacity);
+            categories.put(categoryId, summary);
+            return summary;
+        }
+    }
+}
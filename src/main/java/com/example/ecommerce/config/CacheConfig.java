@@ -0,0 +1,28 @@
+package com.example.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    // Each cache gets its own size/TTL spec instead of sharing spring.cache.caffeine.spec
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheManagerCustomizer(
+            @Value("${cache.products.spec}") String productsSpec,
+            @Value("${cache.user-details.spec}") String userDetailsSpec
+    ) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.from(productsSpec).build());
+            cacheManager.registerCustomCache(USER_DETAILS_CACHE, Caffeine.from(userDetailsSpec).build());
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled methods (the outbox relay) run on Boot's taskScheduler, on virtual threads when spring.threads.virtual.enabled=true
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
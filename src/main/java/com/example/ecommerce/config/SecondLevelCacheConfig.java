@@ -0,0 +1,66 @@
+package com.example.ecommerce.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level cache regions, each sized from cache.l2.<region>.maximum-size and
+// cache.l2.<region>.time-to-live. Hit/miss counts per region are exposed by the Hibernate
+// statistics binder as hibernate.second.level.cache.requests{region,result}.
+@Configuration
+public class SecondLevelCacheConfig {
+    static final List<String> REGIONS = List.of(
+            "categories",
+            "tags",
+            "roles",
+            "customer-roles",
+            "product-tags",
+            "default-query-results-region",
+            "default-update-timestamps-region"
+    );
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(Environment environment) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager(environment));
+    }
+
+    // One cache manager per session factory, Hibernate closes it when the session factory shuts down
+    private static CacheManager cacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate:" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(environment, region));
+        }
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Environment environment, String region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(environment.getProperty(
+                "cache.l2." + region + ".maximum-size", Long.class, DEFAULT_MAXIMUM_SIZE)));
+
+        Duration timeToLive = environment.getProperty("cache.l2." + region + ".time-to-live", Duration.class);
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
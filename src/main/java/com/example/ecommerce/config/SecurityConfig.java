@@ -44,7 +44,9 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",   // Allow access to API documentation
                                 "/swagger-ui/**",    // Allow access to Swagger UI
                                 "/swagger-ui.html",   // Allow access to Swagger UI HTML
-                                "/webjars/**"        // Allow access to webjars for Swagger UI
+                                "/webjars/**",       // Allow access to webjars for Swagger UI
+                                "/actuator/health",  // Liveness checks, only served on management.server.port
+                                "/actuator/prometheus" // Metrics scrape, only served on management.server.port
                         )
                         .permitAll()
                         .anyRequest()
@@ -0,0 +1,76 @@
+package com.example.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times public service methods as service.method.invocations{class, method, outcome, exception}.
+// Calls a service makes to its own methods bypass the proxy and are only included in the caller's time.
+// JwtService, DTO converters and the outbox subscribers' name()/supports() run on every request or event
+// and are left out.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    static final String METRIC_NAME = "service.method.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    // Timers are registered once per method and outcome, a call only does a map lookup
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.example.ecommerce.service..*) && execution(public * *(..))"
+            + " && !within(com.example.ecommerce.service.JwtService)"
+            + " && !execution(* convertToDto(..))"
+            + " && !execution(* com.example.ecommerce.outbox.OutboxSubscriber.name())"
+            + " && !execution(* com.example.ecommerce.outbox.OutboxSubscriber.supports(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), MethodTimers::new);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(methodTimers.success);
+            return result;
+        } catch (Throwable throwable) {
+            sample.stop(methodTimers.error(throwable.getClass()));
+            throw throwable;
+        }
+    }
+
+    private final class MethodTimers {
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.success = timer("success", "none");
+        }
+
+        private Timer error(Class<?> exceptionType) {
+            return errors.computeIfAbsent(exceptionType, type -> timer("error", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
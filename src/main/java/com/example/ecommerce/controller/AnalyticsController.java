@@ -0,0 +1,28 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.SalesReportDto;
+import com.example.ecommerce.service.SalesAnalyticsService;
+import com.example.ecommerce.service.SalesRollupService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    public AnalyticsController(SalesAnalyticsService salesAnalyticsService) {
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    // granularity is hour or day, groupBy is none, product or category; from/to are ISO-8601 instants in UTC buckets
+    @GetMapping("/sales")
+    public SalesReportDto getSales(
+            @RequestParam(defaultValue = SalesRollupService.DAY) String granularity,
+            @RequestParam Instant from,
+            @RequestParam Instant to,
+            @RequestParam(defaultValue = SalesAnalyticsService.GROUP_BY_NONE) String groupBy) {
+        return salesAnalyticsService.getSales(granularity, from, to, groupBy);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CheckoutDto;
+import com.example.ecommerce.dto.CheckoutResultDto;
+import com.example.ecommerce.service.CheckoutService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/checkout")
+public class CheckoutController {
+    private final CheckoutService checkoutService;
+
+    public CheckoutController(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    @PostMapping
+    public ResponseEntity<CheckoutResultDto> checkout(@RequestBody CheckoutDto checkoutDto) {
+        CheckoutResultDto result = checkoutService.checkout(checkoutDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.ReviewDto;
+import com.example.ecommerce.service.ReviewService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+    private final ReviewService reviewService;
+
+    public CustomerController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @GetMapping("/{id}/reviews")
+    public CursorPageDto<ReviewDto> getCustomerReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit) {
+        return reviewService.getReviewsByCustomer(id, cursor, limit);
+    }
+}
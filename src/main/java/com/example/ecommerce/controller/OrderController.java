@@ -1,8 +1,10 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.MultiGetDto;
 import com.example.ecommerce.dto.OrderDto;
+import com.example.ecommerce.dto.OrderHistoryEntryDto;
 import com.example.ecommerce.dto.UpdateOrderDto;
-import com.example.ecommerce.model.Customer;
 import com.example.ecommerce.model.Order;
 import com.example.ecommerce.service.CustomerService;
 import com.example.ecommerce.service.OrderService;
@@ -24,11 +26,21 @@ public class OrderController {
         this.customerService = customerService;
     }
 
+    // GET /api/orders?ids=1,2,3 resolves every id in one round trip, missing ids are reported instead of failing
+    @GetMapping(params = "ids")
+    public MultiGetDto<OrderDto> getOrdersByIds(@RequestParam List<Long> ids) {
+        return orderService.getOrderDtosByIds(ids);
+    }
+
+    // from/to are ISO-8601 instants, from inclusive and to exclusive
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Order>> getOrdersByCustomer(@PathVariable Long customerId) {
-        Customer customer = customerService.findById(customerId);
-        List<Order> orders = orderService.findAllOrdersBasedOnCustomer(customer.getId());
-        return ResponseEntity.ok(orders);
+    public CursorPageDto<OrderHistoryEntryDto> getOrdersByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        return orderService.getOrderHistory(customerId, from, to, cursor, limit);
     }
 
     @GetMapping("/{orderId}")
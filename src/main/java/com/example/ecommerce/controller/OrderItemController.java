@@ -20,32 +20,27 @@ public class OrderItemController {
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderItemDto> getOrderItemById(@PathVariable Long id) {
-        OrderItem orderItem = orderItemService.findById(id);
-        return ResponseEntity.ok(orderItemService.convertToDto(orderItem));
+        return ResponseEntity.ok(orderItemService.getOrderItemDtoById(id));
     }
 
     @GetMapping("/order/{orderId}")
     public ResponseEntity<List<OrderItemDto>> getOrderItemsByOrderId(@PathVariable Long orderId) {
-        List<OrderItem> orderItems = orderItemService.findAllByOrderId(orderId);
-        return ResponseEntity.ok(orderItems.stream().map(orderItemService::convertToDto).toList());
+        return ResponseEntity.ok(orderItemService.getOrderItemDtosByOrderId(orderId));
     }
 
     @GetMapping("/product/{productId}")
     public ResponseEntity<List<OrderItemDto>> getOrderItemsByProductId(@PathVariable Long productId) {
-        List<OrderItem> orderItems = orderItemService.findAllByProductId(productId);
-        return ResponseEntity.ok(orderItems.stream().map(orderItemService::convertToDto).toList());
+        return ResponseEntity.ok(orderItemService.getOrderItemDtosByProductId(productId));
     }
 
     @GetMapping("/quantity/{quantity}")
     public ResponseEntity<List<OrderItemDto>> getOrderItemsWithQuantityGreaterThan(@PathVariable int quantity) {
-        List<OrderItem> orderItems = orderItemService.findAllWithQuantityGreaterThan(quantity);
-        return ResponseEntity.ok(orderItems.stream().map(orderItemService::convertToDto).toList());
+        return ResponseEntity.ok(orderItemService.getOrderItemDtosWithQuantityGreaterThan(quantity));
     }
 
     @PostMapping
     public ResponseEntity<OrderItemDto> createOrderItem(@RequestBody OrderItemDto orderItemDto) {
-        OrderItem orderItem = orderItemService.convertToEntity(orderItemDto);
-        OrderItem createdOrderItem = orderItemService.createOrderItem(orderItem);
+        OrderItem createdOrderItem = orderItemService.createOrderItem(orderItemDto);
         return new ResponseEntity<>(orderItemService.convertToDto(createdOrderItem), HttpStatus.CREATED);
     }
 
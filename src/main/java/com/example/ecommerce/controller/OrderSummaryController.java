@@ -0,0 +1,35 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.OrderSummaryDto;
+import com.example.ecommerce.service.OrderSummaryService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/order-summaries")
+public class OrderSummaryController {
+    private final OrderSummaryService orderSummaryService;
+
+    public OrderSummaryController(OrderSummaryService orderSummaryService) {
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    // Every filter is optional; from/to are ISO-8601 instants, from inclusive and to exclusive
+    @GetMapping
+    public CursorPageDto<OrderSummaryDto> getOrderSummaries(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + OrderSummaryService.DEFAULT_PAGE_SIZE) int limit) {
+        return orderSummaryService.getSummaries(status, customerId, from, to, cursor, limit);
+    }
+
+    @GetMapping("/{orderId}")
+    public OrderSummaryDto getOrderSummary(@PathVariable Long orderId) {
+        return orderSummaryService.getSummary(orderId);
+    }
+}
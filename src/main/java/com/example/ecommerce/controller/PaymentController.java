@@ -1,5 +1,6 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.MultiGetDto;
 import com.example.ecommerce.dto.PaymentDto;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Order;
@@ -24,6 +25,12 @@ public class PaymentController {
         this.orderService = orderService;
     }
 
+    // GET /api/payments?ids=1,2,3 resolves every id in one round trip, missing ids are reported instead of failing
+    @GetMapping(params = "ids")
+    public MultiGetDto<PaymentDto> getPaymentsByIds(@RequestParam List<Long> ids) {
+        return paymentService.getPaymentDtosByIds(ids);
+    }
+
     @GetMapping("/order/{orderId}")
     public ResponseEntity<List<Payment>> getAllPaymentsByOrderId(@PathVariable Long orderId) {
         List<Payment> payments = paymentService.findAllByOrderId(orderId);
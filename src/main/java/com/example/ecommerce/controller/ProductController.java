@@ -1,33 +1,109 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.MultiGetDto;
 import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.dto.ProductRatingDto;
+import com.example.ecommerce.dto.ReviewDto;
+import com.example.ecommerce.dto.TrendingProductDto;
 import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.ProductRatingService;
 import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.service.ReviewService;
+import com.example.ecommerce.service.TrendingProductsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductRatingService productRatingService;
+    private final ReviewService reviewService;
+    private final TrendingProductsService trendingProductsService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductRatingService productRatingService,
+            ReviewService reviewService,
+            TrendingProductsService trendingProductsService,
+            ObjectMapper objectMapper
+    ) {
         this.productService = productService;
+        this.productRatingService = productRatingService;
+        this.reviewService = reviewService;
+        this.trendingProductsService = trendingProductsService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<ProductDto> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
+    public List<ProductDto> getAllProducts(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int limit) {
+        List<Product> products = productService.getProductsAfter(after, limit);
         return productService.convertToDtoList(products);
     }
 
+    // GET /api/products?ids=1,2,3 resolves every id in one round trip, missing ids are reported instead of failing
+    @GetMapping(params = "ids")
+    public MultiGetDto<ProductDto> getProductsByIds(@RequestParam List<Long> ids) {
+        return productService.getProductDtosByIds(ids);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                productService.streamAllProducts(productDto -> {
+                    try {
+                        generator.writeObject(productDto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Best sellers of the last `minutes`, store-wide or within one category, served from memory
+    @GetMapping("/trending")
+    public List<TrendingProductDto> getTrendingProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "" + TrendingProductsService.DEFAULT_WINDOW_MINUTES) int minutes,
+            @RequestParam(defaultValue = "" + TrendingProductsService.DEFAULT_LIMIT) int limit) {
+        return trendingProductsService.getTrending(categoryId, minutes, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        ProductDto productDto = productService.convertToDto(product);
-        return ResponseEntity.ok(productDto);
+        return ResponseEntity.ok(productService.getProductDtoById(id));
+    }
+
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<ProductRatingDto> getProductRating(@PathVariable Long id) {
+        return ResponseEntity.ok(productRatingService.getRating(id));
+    }
+
+    @GetMapping("/{id}/reviews")
+    public CursorPageDto<ReviewDto> getProductReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit) {
+        return reviewService.getReviewsByProduct(id, cursor, limit);
     }
 
     @PostMapping
@@ -51,4 +127,4 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.ProductDto;
 import com.example.ecommerce.dto.ReviewDto;
 import com.example.ecommerce.model.Customer;
 import com.example.ecommerce.model.Product;
@@ -40,7 +41,8 @@ public class ReviewController {
     public ResponseEntity<Review> createReview(@RequestBody ReviewDto reviewDto) {
         Customer customer = customerService.findById(reviewDto.getCustomerId());
 
-        Product product = productService.getProductById(reviewDto.getProductId());
+        ProductDto productDto = productService.getProductDtoById(reviewDto.getProductId());
+        Product product = productService.getProductReference(productDto.getId());
 
         Review review = new Review();
         review.setCustomer(customer);
@@ -49,7 +51,7 @@ public class ReviewController {
         review.setComment(reviewDto.getComment());
         review.setCreatedAt(Instant.now());
 
-        Review savedReview = reviewService.saveReview(review);
+        Review savedReview = reviewService.createReview(review);
 
         return ResponseEntity.ok(savedReview);
     }
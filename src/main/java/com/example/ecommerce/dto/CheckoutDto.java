@@ -0,0 +1,33 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+public class CheckoutDto {
+    private Long customerId;
+    private String paymentMethod;
+    private List<CheckoutItemDto> items;
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public List<CheckoutItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CheckoutItemDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ecommerce.dto;
+
+public class CheckoutItemDto {
+    private Long productId;
+    private int quantity;
+
+    public CheckoutItemDto() {
+    }
+
+    public CheckoutItemDto(Long productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Result of a bulk read by id: found items in request order, plus the ids that do not exist
+public class MultiGetDto<T> {
+    public static final int MAX_IDS = 100;
+
+    private List<T> items;
+    private List<Long> missingIds;
+
+    public MultiGetDto() {
+    }
+
+    public MultiGetDto(List<T> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    // Requested ids without duplicates, in the order they were asked for; ?ids=1,,2 binds a null id
+    public static List<Long> distinctIds(List<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("ids must not contain empty values");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.isEmpty() || distinct.size() > MAX_IDS) {
+            throw new BadRequestException("Between 1 and " + MAX_IDS + " ids are allowed");
+        }
+        return distinct;
+    }
+
+    public static <T> MultiGetDto<T> of(List<Long> requestedIds, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        found.forEach(item -> byId.put(idOf.apply(item), item));
+
+        List<T> items = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetDto<>(items, missingIds);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
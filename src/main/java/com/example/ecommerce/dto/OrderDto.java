@@ -6,6 +6,8 @@ import java.time.Instant;
 import java.util.List;
 
 public class OrderDto {
+    private Long id;
+
     @NotNull
     private Long customerId;
 
@@ -19,6 +21,14 @@ public class OrderDto {
     @NotNull
     private BigDecimal total;
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Long getCustomerId() {
         return customerId;
     }
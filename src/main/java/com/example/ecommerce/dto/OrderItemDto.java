@@ -6,6 +6,7 @@ public class OrderItemDto {
     private Long id;
     private Long orderId;
     private Long productId;
+    private String productName;
     private int quantity;
     private BigDecimal price;
 
@@ -13,6 +14,10 @@ public class OrderItemDto {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Long getOrderId() {
         return orderId;
     }
@@ -29,6 +34,14 @@ public class OrderItemDto {
         this.productId = productId;
     }
 
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
     public int getQuantity() {
         return quantity;
     }
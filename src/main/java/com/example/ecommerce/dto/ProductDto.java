@@ -19,6 +19,10 @@ public class ProductDto {
         this.id = id;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
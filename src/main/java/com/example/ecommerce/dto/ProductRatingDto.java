@@ -0,0 +1,43 @@
+package com.example.ecommerce.dto;
+
+import java.util.Map;
+
+public class ProductRatingDto {
+    private Long productId;
+    private long reviewCount;
+    private double averageRating;
+    // Review count per star rating, keys 1 to 5
+    private Map<Integer, Long> distribution;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Map<Integer, Long> getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Map<Integer, Long> distribution) {
+        this.distribution = distribution;
+    }
+}
@@ -1,19 +1,39 @@
 package com.example.ecommerce.dto;
 
+import java.time.Instant;
+
 public class ReviewDto {
+    private Long id;
     private Long customerId;
     private Long productId;
     private int rating;
     private String comment;
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
 
     public Long getCustomerId() {
         return customerId;
     }
 
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
     public Long getProductId() {
         return productId;
     }
 
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
     public int getRating() {
         return rating;
     }
@@ -29,4 +49,12 @@ public class ReviewDto {
     public void setComment(String comment) {
         this.comment = comment;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
 }
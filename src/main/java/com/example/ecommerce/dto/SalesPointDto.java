@@ -0,0 +1,62 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Sales of one group in one bucket; in the report totals bucketStart is null and the figures cover the whole range
+public class SalesPointDto {
+    private Instant bucketStart;
+    private Long groupId;
+    private BigDecimal revenue;
+    private long units;
+    private long orders;
+    private long distinctCustomers;
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public long getDistinctCustomers() {
+        return distinctCustomers;
+    }
+
+    public void setDistinctCustomers(long distinctCustomers) {
+        this.distinctCustomers = distinctCustomers;
+    }
+}
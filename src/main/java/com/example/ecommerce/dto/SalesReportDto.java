@@ -0,0 +1,61 @@
+package com.example.ecommerce.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SalesReportDto {
+    private String granularity;
+    private String groupBy;
+    private Instant from;
+    private Instant to;
+    private List<SalesPointDto> points;
+    private List<SalesPointDto> totals;
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public List<SalesPointDto> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<SalesPointDto> points) {
+        this.points = points;
+    }
+
+    public List<SalesPointDto> getTotals() {
+        return totals;
+    }
+
+    public void setTotals(List<SalesPointDto> totals) {
+        this.totals = totals;
+    }
+}
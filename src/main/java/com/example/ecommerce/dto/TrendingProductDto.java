@@ -0,0 +1,50 @@
+package com.example.ecommerce.dto;
+
+public class TrendingProductDto {
+    private Long productId;
+    private String productName;
+    private Long categoryId;
+    // Estimated units sold in the window, never below the true number; guaranteedUnitsSold is never above it
+    private long unitsSold;
+    private long guaranteedUnitsSold;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public void setUnitsSold(long unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+
+    public long getGuaranteedUnitsSold() {
+        return guaranteedUnitsSold;
+    }
+
+    public void setGuaranteedUnitsSold(long guaranteedUnitsSold) {
+        this.guaranteedUnitsSold = guaranteedUnitsSold;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ecommerce.event;
+
+import com.example.ecommerce.model.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Outbox payload for order writes, a full snapshot so subscribers never need to read the order back
+public record OrderEvent(Long orderId, Long customerId, String status, BigDecimal total, Instant orderDate, Instant occurredAt) {
+    public static final String AGGREGATE = "Order";
+    public static final String CREATED = "OrderCreated";
+    public static final String STATUS_CHANGED = "OrderStatusChanged";
+    public static final String DELETED = "OrderDeleted";
+
+    public static OrderEvent of(Order order) {
+        return new OrderEvent(order.getId(), order.getCustomerId(), order.getStatus(), order.getTotal(),
+                order.getOrderDate(), Instant.now());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce.event;
+
+import com.example.ecommerce.model.OrderItem;
+
+import java.math.BigDecimal;
+
+// Outbox payload for order item writes
+public record OrderItemEvent(Long orderItemId, Long orderId, Long productId, int quantity, BigDecimal price) {
+    public static final String AGGREGATE = "OrderItem";
+    public static final String CREATED = "OrderItemCreated";
+    public static final String UPDATED = "OrderItemUpdated";
+    public static final String DELETED = "OrderItemDeleted";
+
+    public static OrderItemEvent of(OrderItem orderItem) {
+        return new OrderItemEvent(orderItem.getId(), orderItem.getOrderId(), orderItem.getProductId(),
+                orderItem.getQuantity(), orderItem.getPrice());
+    }
+}
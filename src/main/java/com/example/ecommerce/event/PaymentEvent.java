@@ -0,0 +1,19 @@
+package com.example.ecommerce.event;
+
+import com.example.ecommerce.model.Payment;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Outbox payload for payment writes
+public record PaymentEvent(Long paymentId, Long orderId, BigDecimal amount, String paymentMethod, String status, Instant paymentDate) {
+    public static final String AGGREGATE = "Payment";
+    public static final String CREATED = "PaymentCreated";
+    public static final String UPDATED = "PaymentUpdated";
+    public static final String DELETED = "PaymentDeleted";
+
+    public static PaymentEvent of(Payment payment) {
+        return new PaymentEvent(payment.getId(), payment.getOrderId(), payment.getAmount(), payment.getPaymentMethod(),
+                payment.getStatus(), payment.getPaymentDate());
+    }
+}
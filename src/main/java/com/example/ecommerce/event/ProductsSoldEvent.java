@@ -0,0 +1,10 @@
+package com.example.ecommerce.event;
+
+import java.time.Instant;
+import java.util.List;
+
+// Published in-process for every order item written, delivered to listeners once the write commits
+public record ProductsSoldEvent(Instant soldAt, List<Line> lines) {
+    public record Line(Long productId, Long categoryId, int quantity) {
+    }
+}
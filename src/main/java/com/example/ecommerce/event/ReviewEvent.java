@@ -0,0 +1,16 @@
+package com.example.ecommerce.event;
+
+import com.example.ecommerce.model.Review;
+
+import java.time.Instant;
+
+// Outbox payload for review writes
+public record ReviewEvent(Long reviewId, Long productId, Long customerId, int rating, Instant createdAt) {
+    public static final String AGGREGATE = "Review";
+    public static final String CREATED = "ReviewCreated";
+
+    public static ReviewEvent of(Review review) {
+        return new ReviewEvent(review.getId(), review.getProductId(), review.getCustomerId(), review.getRating(),
+                review.getCreatedAt());
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.ecommerce.event;
+
+// Published when a role is renamed or removed, so anything holding authorities derived from it can drop them
+public record RolesChangedEvent(Long roleId) {
+}
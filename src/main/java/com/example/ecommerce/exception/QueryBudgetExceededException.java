@@ -0,0 +1,9 @@
+package com.example.ecommerce.exception;
+
+// Only thrown in strict mode, where it is meant to fail the test that made the request
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -7,7 +7,7 @@ import java.time.Instant;
 @MappedSuperclass
 public abstract class BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "created_at", columnDefinition = "TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
@@ -23,6 +23,12 @@ public abstract class BaseEntity {
         this.id = id;
     }
 
+    protected BaseEntity(BaseEntity other) {
+        this.id = other.id;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     @PrePersist
     protected void onCreate() {
         Instant now = Instant.now(); // UTC time
@@ -1,6 +1,8 @@
 package com.example.ecommerce.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,8 +31,9 @@ public class Customer extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private String phone;
 
-    // Many-to-Many relationship with roles
+    // Many-to-Many relationship with roles, the role ids are served from the second-level cache
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer-roles")
     @JoinTable(
             name = "customer_roles",
             joinColumns = @JoinColumn(name = "customer_id"),
@@ -51,6 +54,18 @@ public class Customer extends BaseEntity implements UserDetails {
         super(id);
     }
 
+    // A copy outside any persistence context; the eagerly loaded roles are shared, the lazy collections are left empty
+    public Customer(Customer other) {
+        super(other);
+        this.username = other.username;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.password = other.password;
+        this.phone = other.phone;
+        this.roles = new HashSet<>(other.roles);
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
@@ -0,0 +1,58 @@
+package com.example.ecommerce.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "inventory_reservations")
+public class InventoryReservation extends BaseEntity {
+    public static final String RESERVED = "Reserved";
+    public static final String RELEASED = "Released";
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false, referencedColumnName = "id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, referencedColumnName = "id")
+    private Product product;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private String status;
+
+    public InventoryReservation() {
+        super();
+    }
+
+    public InventoryReservation(Order order, Product product, int quantity) {
+        this.order = order;
+        this.product = product;
+        this.quantity = quantity;
+        this.status = RESERVED;
+    }
+
+    public Long getOrderId() {
+        return order.getId();
+    }
+
+    public Long getProductId() {
+        return product.getId();
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -9,7 +9,7 @@ import java.time.Instant;
 @Table(name = "payments")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private long id;
 
     @ManyToOne
@@ -40,6 +40,10 @@ public class Payment {
         return id;
     }
 
+    public Long getOrderId() {
+        return order == null ? null : order.getId();
+    }
+
     public BigDecimal getAmount() {
         return amount;
     }
@@ -1,6 +1,8 @@
 package com.example.ecommerce.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -25,8 +27,9 @@ public class Product extends BaseEntity {
     @JoinColumn(name = "category_id", nullable = false, referencedColumnName = "id")
     private Category category;
 
-    // Many-to-Many relationship with tags
+    // Many-to-Many relationship with tags, the tag ids are served from the second-level cache
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-tags")
     @JoinTable(
             name = "product_tags",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -40,6 +43,14 @@ public class Product extends BaseEntity {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews;
 
+    public Product() {
+        super();
+    }
+
+    public Product(Long id) {
+        super(id);
+    }
+
     public Set<Tag> getTags() {
         return tags;
     }
@@ -80,6 +91,10 @@ public class Product extends BaseEntity {
         this.stockQuantity = stockQuantity;
     }
 
+    public Long getCategoryId() {
+        return category == null ? null : category.getId();
+    }
+
     public void setCategory(Category category) {
         this.category = category;
     }
@@ -0,0 +1,71 @@
+package com.example.ecommerce.model;
+
+import jakarta.persistence.*;
+
+// One row per reviewed product, kept in step with its reviews by ProductRatingService
+@Entity
+@Table(name = "product_rating_stats")
+public class ProductRatingStats {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    public ProductRatingStats() {
+    }
+
+    public ProductRatingStats(Long productId, long reviewCount, long ratingSum, long... stars) {
+        this.productId = productId;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.stars1 = stars[0];
+        this.stars2 = stars[1];
+        this.stars3 = stars[2];
+        this.stars4 = stars[3];
+        this.stars5 = stars[4];
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    // Number of reviews with the given 1-5 star rating
+    public long getStars(int rating) {
+        return switch (rating) {
+            case 1 -> stars1;
+            case 2 -> stars2;
+            case 3 -> stars3;
+            case 4 -> stars4;
+            case 5 -> stars5;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5");
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ecommerce.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Sales of one product, one category or the whole shop in one hour or day, rebuilt by SalesRollupService
+@Entity
+@Table(name = "sales_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_rollups_bucket", columnNames = {"granularity", "dimension", "bucket_start", "dimension_id"}))
+public class SalesRollup extends BaseEntity {
+    @Column(nullable = false, length = 10)
+    private String granularity;
+
+    @Column(nullable = false, length = 20)
+    private String dimension;
+
+    // Product or category id, 0 for the shop-wide total
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // HyperLogLog of the customers who bought, merged across buckets for distinct counts over a range
+    @Column(name = "customer_sketch", nullable = false, length = 2048)
+    private byte[] customerSketch;
+
+    public SalesRollup() {
+        super();
+    }
+
+    public SalesRollup(String granularity, String dimension, Long dimensionId, Instant bucketStart) {
+        this.granularity = granularity;
+        this.dimension = dimension;
+        this.dimensionId = dimensionId;
+        this.bucketStart = bucketStart;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public Long getDimensionId() {
+        return dimensionId;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public byte[] getCustomerSketch() {
+        return customerSketch;
+    }
+
+    public void setCustomerSketch(byte[] customerSketch) {
+        this.customerSketch = customerSketch;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ecommerce.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// One row per UTC day with sales, tracks which of its hours changed since their rollups were last rebuilt.
+// Marking and rebuilding both lock this row, so a day is never rebuilt from a half-written set of hours.
+@Entity
+@Table(name = "sales_rollup_days")
+public class SalesRollupDay {
+    @Id
+    @Column(name = "day_start")
+    private Instant dayStart;
+
+    // Bit n set: hour n of the day needs rebuilding
+    @Column(name = "dirty_hours", nullable = false)
+    private int dirtyHours;
+
+    @Column(name = "refreshed_at")
+    private Instant refreshedAt;
+
+    // Consecutive failed rebuilds; the day is skipped until retryAt
+    @Column(name = "failed_attempts", nullable = false)
+    private int failedAttempts;
+
+    @Column(name = "retry_at")
+    private Instant retryAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public SalesRollupDay() {
+    }
+
+    public SalesRollupDay(Instant dayStart) {
+        this.dayStart = dayStart;
+    }
+
+    public Instant getDayStart() {
+        return dayStart;
+    }
+
+    public int getDirtyHours() {
+        return dirtyHours;
+    }
+
+    public void setDirtyHours(int dirtyHours) {
+        this.dirtyHours = dirtyHours;
+    }
+
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(Instant refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public void setFailedAttempts(int failedAttempts) {
+        this.failedAttempts = failedAttempts;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+
+    public void setRetryAt(Instant retryAt) {
+        this.retryAt = retryAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ecommerce.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// The latest trending-products window of one node, read back when the node restarts
+@Entity
+@Table(name = "trending_snapshots")
+public class TrendingSnapshot {
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    public TrendingSnapshot() {
+    }
+
+    public TrendingSnapshot(String nodeId, Instant takenAt, String payload) {
+        this.nodeId = nodeId;
+        this.takenAt = takenAt;
+        this.payload = payload;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.model.projection;
+
+public interface OrderItemIdView {
+    Long getOrderId();
+
+    Long getOrderItemId();
+}
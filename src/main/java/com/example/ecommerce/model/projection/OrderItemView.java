@@ -0,0 +1,17 @@
+package com.example.ecommerce.model.projection;
+
+import java.math.BigDecimal;
+
+public interface OrderItemView {
+    Long getId();
+
+    Long getOrderId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    int getQuantity();
+
+    BigDecimal getPrice();
+}
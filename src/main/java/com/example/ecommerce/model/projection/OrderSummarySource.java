@@ -0,0 +1,18 @@
+package com.example.ecommerce.model.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface OrderSummarySource {
+    Long getCustomerId();
+
+    String getStatus();
+
+    Instant getOrderDate();
+
+    BigDecimal getTotal();
+
+    long getItemCount();
+
+    BigDecimal getPaidAmount();
+}
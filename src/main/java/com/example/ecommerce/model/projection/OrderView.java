@@ -0,0 +1,16 @@
+package com.example.ecommerce.model.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface OrderView {
+    Long getId();
+
+    Long getCustomerId();
+
+    Instant getOrderDate();
+
+    String getStatus();
+
+    BigDecimal getTotal();
+}
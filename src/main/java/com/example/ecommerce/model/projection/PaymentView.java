@@ -0,0 +1,18 @@
+package com.example.ecommerce.model.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface PaymentView {
+    Long getId();
+
+    Long getOrderId();
+
+    BigDecimal getAmount();
+
+    Instant getPaymentDate();
+
+    String getPaymentMethod();
+
+    String getStatus();
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.model.projection;
+
+public interface ProductTagView {
+    Long getProductId();
+
+    Long getTagId();
+}
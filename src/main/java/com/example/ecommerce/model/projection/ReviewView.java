@@ -0,0 +1,17 @@
+package com.example.ecommerce.model.projection;
+
+import java.time.Instant;
+
+public interface ReviewView {
+    Long getId();
+
+    Long getProductId();
+
+    Long getCustomerId();
+
+    int getRating();
+
+    String getComment();
+
+    Instant getCreatedAt();
+}
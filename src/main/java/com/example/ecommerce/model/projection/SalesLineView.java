@@ -0,0 +1,17 @@
+package com.example.ecommerce.model.projection;
+
+import java.math.BigDecimal;
+
+public interface SalesLineView {
+    Long getOrderId();
+
+    Long getCustomerId();
+
+    Long getProductId();
+
+    Long getCategoryId();
+
+    int getQuantity();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,113 @@
+package com.example.ecommerce.observability;
+
+import com.example.ecommerce.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+// Wraps the whole request, security filters included, and records how many statements it issued per endpoint.
+// Requests above the budget are logged and counted; in strict mode they fail instead. Strict mode buffers the
+// body so the response is still uncommitted when the count is known, streamed responses included.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxQueriesPerRequest;
+    private final boolean strict;
+
+    public QueryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-budget.max-per-request:20}") int maxQueriesPerRequest,
+            @Value("${query-budget.strict:false}") boolean strict
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            // The handler ran on the first dispatch, only the buffered body is left to release
+            filterChain.doFilter(request, response);
+            copyBodyIfComplete(request, response);
+            return;
+        }
+
+        HttpServletResponse target = strict ? new ContentCachingResponseWrapper(response) : response;
+        QueryCounter.start();
+        int queries;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            queries = QueryCounter.stop();
+        }
+
+        String uri = endpointOf(request);
+        DistributionSummary.builder("request.queries")
+                .description("SQL statements issued by Hibernate per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queries);
+
+        if (queries > maxQueriesPerRequest) {
+            Counter.builder("request.queries.over.budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+
+            String message = "query_budget_exceeded method=%s uri=%s queries=%d budget=%d"
+                    .formatted(request.getMethod(), uri, queries, maxQueriesPerRequest);
+            if (strict) {
+                // The buffered body is dropped, the request fails with a 500
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        copyBodyIfComplete(request, target);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private static void copyBodyIfComplete(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper buffered =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered != null && !request.isAsyncStarted()) {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    // Route template such as /api/orders/{orderId}, so ids do not explode the tag cardinality
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ecommerce.observability;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Counts the SQL statements Hibernate prepares on the current thread between start() and stop().
+// Plain JdbcTemplate statements do not go through Hibernate and are not counted.
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final ThreadLocal<Counting> CURRENT = new ThreadLocal<>();
+
+    // statements is null unless recording, counting alone keeps nothing per statement
+    private static final class Counting {
+        private int count;
+        private final List<String> statements;
+
+        private Counting(List<String> statements) {
+            this.statements = statements;
+        }
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counting counting = CURRENT.get();
+        if (counting != null) {
+            counting.count++;
+            if (counting.statements != null) {
+                counting.statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static void start() {
+        CURRENT.set(new Counting(null));
+    }
+
+    // Also keeps the SQL text, for tests that check the statements Hibernate generated
+    public static void startRecording() {
+        CURRENT.set(new Counting(new ArrayList<>()));
+    }
+
+    // Statements counted so far on this thread, 0 when counting was not started
+    public static int current() {
+        Counting counting = CURRENT.get();
+        return counting == null ? 0 : counting.count;
+    }
+
+    // Statements recorded so far on this thread, empty unless started with startRecording()
+    public static List<String> recorded() {
+        Counting counting = CURRENT.get();
+        return counting == null || counting.statements == null ? List.of() : List.copyOf(counting.statements);
+    }
+
+    public static int stop() {
+        int count = current();
+        CURRENT.remove();
+        return count;
+    }
+}
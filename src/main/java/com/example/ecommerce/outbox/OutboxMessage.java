@@ -0,0 +1,13 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.model.OutboxEvent;
+
+import java.time.Instant;
+
+// What subscribers see of an outbox row; payload is the JSON written by OutboxPublisher
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload, Instant createdAt, int attempt) {
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt(), event.getAttempts());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.model.OutboxEvent;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Drains outbox_events in batches on a background thread. Every node runs one; claims use FOR UPDATE SKIP LOCKED
+// and push the claimed rows' available_at forward by a lease, so nodes split the backlog and a node that dies
+// mid-batch only delays its events until the lease runs out.
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxSubscriber, DispatchCounters> dispatchCounters = new HashMap<>();
+    private final Counter abandonedCounter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retention;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            ObjectProvider<OutboxSubscriber> subscribers,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.lease:1m}") Duration lease,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.retry-backoff:5s}") Duration retryBackoff,
+            @Value("${outbox.retention:7d}") Duration retention
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers.orderedStream().toList();
+        this.transactionTemplate = transactionTemplate;
+        this.subscribers.forEach(subscriber -> dispatchCounters.put(subscriber, new DispatchCounters(
+                dispatchCounter(meterRegistry, subscriber, "success"),
+                dispatchCounter(meterRegistry, subscriber, "failure"))));
+        this.abandonedCounter = Counter.builder("outbox.events.abandoned")
+                .description("Outbox events given up on after the maximum number of delivery attempts")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // A full batch means more may be waiting, keep draining until one comes back short
+        while (relayBatch() == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void deleteProcessed() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(Instant.now().minus(retention)));
+    }
+
+    // Claims up to batch-size due events, delivers them outside any transaction and records the outcome.
+    // Returns the number of events claimed.
+    public int relayBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> claim(Instant.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        Map<Long, String> failed = new HashMap<>();
+        for (OutboxMessage message : batch) {
+            String error = dispatch(message);
+            if (error == null) {
+                delivered.add(message.id());
+            } else {
+                failed.put(message.id(), error);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> complete(batch, delivered, failed));
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claim(Instant now) {
+        List<OutboxEvent> events = outboxEventRepository.findBatchToRelay(now, Limit.of(batchSize));
+        Instant leaseEnd = now.plus(lease);
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setAvailableAt(leaseEnd);
+        }
+        return events.stream().map(OutboxMessage::of).toList();
+    }
+
+    // Every interested subscriber gets the event even if an earlier one failed; returns the failures, null if none
+    private String dispatch(OutboxMessage message) {
+        StringBuilder errors = null;
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (!subscriber.supports(message.eventType())) {
+                continue;
+            }
+            try {
+                subscriber.handle(message);
+                dispatchCounters.get(subscriber).success().increment();
+            } catch (Exception e) {
+                dispatchCounters.get(subscriber).failure().increment();
+                log.warn("outbox_dispatch_failed subscriber={} event={} id={} attempt={}",
+                        subscriber.name(), message.eventType(), message.id(), message.attempt(), e);
+                errors = (errors == null ? new StringBuilder() : errors.append("; "))
+                        .append(subscriber.name()).append(": ").append(e);
+            }
+        }
+        return errors == null ? null : errors.toString();
+    }
+
+    private void complete(List<OutboxMessage> batch, List<Long> delivered, Map<Long, String> failed) {
+        Instant now = Instant.now();
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markProcessed(delivered, now);
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> claimedAttempt = new HashMap<>();
+        batch.forEach(message -> claimedAttempt.put(message.id(), message.attempt()));
+        for (OutboxEvent event : outboxEventRepository.findAllById(failed.keySet())) {
+            // The lease ran out and another relay has claimed the event since, its outcome wins
+            if (event.getProcessedAt() != null || event.getAttempts() != claimedAttempt.get(event.getId())) {
+                continue;
+            }
+
+            event.setLastError(truncate(failed.get(event.getId())));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setProcessedAt(now);
+                abandonedCounter.increment();
+                log.error("outbox_event_abandoned event={} id={} attempts={}",
+                        event.getEventType(), event.getId(), event.getAttempts());
+            } else {
+                int doublings = Math.min(event.getAttempts() - 1, MAX_BACKOFF_DOUBLINGS);
+                event.setAvailableAt(now.plus(retryBackoff.multipliedBy(1L << doublings)));
+            }
+        }
+    }
+
+    // Registered once per subscriber, the map is only read after construction
+    private record DispatchCounters(Counter success, Counter failure) {
+    }
+
+    private static Counter dispatchCounter(MeterRegistry meterRegistry, OutboxSubscriber subscriber, String result) {
+        return Counter.builder("outbox.dispatch")
+                .description("Outbox event deliveries per subscriber")
+                .tag("subscriber", subscriber.name())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce.outbox;
+
+// In-process consumer of relayed outbox events; every bean implementing this is picked up by OutboxRelay.
+// Delivery is at least once and not ordered across batches, so handle() must be idempotent.
+public interface OutboxSubscriber {
+    // Used in logs and as the subscriber tag of the outbox.dispatch metric
+    String name();
+
+    boolean supports(String eventType);
+
+    // Throwing marks the event for a retry, it does not stop delivery to the other subscribers
+    void handle(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,21 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.InventoryReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+    // Locks the order's open reservations so concurrent cancellations release stock only once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InventoryReservation r WHERE r.order.id = ?1 AND r.status = ?2")
+    List<InventoryReservation> findAllByOrderIdAndStatusForUpdate(Long orderId, String status);
+
+    @Query("SELECT r FROM InventoryReservation r WHERE r.order.id = ?1")
+    List<InventoryReservation> findAllByOrder_Id(Long orderId);
+}
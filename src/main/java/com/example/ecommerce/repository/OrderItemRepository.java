@@ -1,11 +1,15 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.projection.OrderItemView;
+import com.example.ecommerce.model.projection.SalesLineView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -20,4 +24,39 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     // Custom query to find all order items with a quantity greater than a specific value
     @Query("SELECT oi FROM OrderItem oi WHERE oi.quantity > ?1")
     List<OrderItem> findAllWithQuantityGreaterThan(int quantity);
+
+    // DTO reads, one statement over order_items with the product name joined in, no order or product entities loaded
+    @Query("""
+            SELECT oi.id AS id, oi.order.id AS orderId, p.id AS productId, p.name AS productName,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.product p WHERE oi.id = ?1""")
+    Optional<OrderItemView> findViewById(Long id);
+
+    @Query("""
+            SELECT oi.id AS id, oi.order.id AS orderId, p.id AS productId, p.name AS productName,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.product p WHERE oi.order.id = ?1 ORDER BY oi.id""")
+    List<OrderItemView> findViewsByOrderId(Long orderId);
+
+    @Query("""
+            SELECT oi.id AS id, oi.order.id AS orderId, p.id AS productId, p.name AS productName,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.product p WHERE p.id = ?1 ORDER BY oi.id""")
+    List<OrderItemView> findViewsByProductId(Long productId);
+
+    @Query("""
+            SELECT oi.id AS id, oi.order.id AS orderId, p.id AS productId, p.name AS productName,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.product p WHERE oi.quantity > ?1 ORDER BY oi.id""")
+    List<OrderItemView> findViewsWithQuantityGreaterThan(int quantity);
+
+    // Every line of the orders placed in [from, to) except those in the excluded status, a range scan on
+    // idx_orders_order_date joined to the order_items and products indexes. Statuses are stored as clients send
+    // them, so the exclusion ignores case like OrderService.updateOrderStatus does
+    @Query("""
+            SELECT o.id AS orderId, o.customer.id AS customerId, p.id AS productId, p.category.id AS categoryId,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.order o JOIN oi.product p
+            WHERE o.orderDate >= ?1 AND o.orderDate < ?2 AND UPPER(o.status) <> UPPER(?3)""")
+    List<SalesLineView> findSalesLines(Instant from, Instant to, String excludedStatus);
 }
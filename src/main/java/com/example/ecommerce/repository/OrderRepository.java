@@ -1,12 +1,53 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.projection.OrderHistoryView;
+import com.example.ecommerce.model.projection.OrderItemIdView;
+import com.example.ecommerce.model.projection.OrderSummarySource;
+import com.example.ecommerce.model.projection.OrderView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByCustomer_Id(Long customerId);
+
+    // Newest-first orders in [from, to) strictly before (beforeDate, beforeId), a range scan on
+    // (customer_id, order_date DESC, id DESC) with the item count read from the order_items index
+    @Query("""
+            SELECT o.id AS id, o.orderDate AS orderDate, o.status AS status, o.total AS total,
+                   (SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order.id = o.id) AS itemCount
+            FROM Order o
+            WHERE o.customer.id = ?1 AND o.orderDate >= ?2 AND (o.orderDate, o.id) < (?3, ?4)
+            ORDER BY o.orderDate DESC, o.id DESC""")
+    List<OrderHistoryView> findHistoryPage(Long customerId, Instant from, Instant beforeDate, Long beforeId, Limit limit);
+
+    // Bulk read without loading the customers
+    @Query("""
+            SELECT o.id AS id, o.customer.id AS customerId, o.orderDate AS orderDate, o.status AS status, o.total AS total
+            FROM Order o WHERE o.id IN ?1""")
+    List<OrderView> findViewsByIdIn(Collection<Long> ids);
+
+    // Item ids for a whole batch of orders in one query over order_items
+    @Query("SELECT oi.order.id AS orderId, oi.id AS orderItemId FROM OrderItem oi WHERE oi.order.id IN ?1")
+    List<OrderItemIdView> findOrderItemIdsByOrderIds(Collection<Long> orderIds);
+
+    // Everything the order_summary row holds, in one statement over the order, item and payment indexes
+    @Query("""
+            SELECT o.customer.id AS customerId, o.status AS status, COALESCE(o.orderDate, o.createdAt) AS orderDate,
+                   o.total AS total,
+                   (SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order.id = o.id) AS itemCount,
+                   (SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.order.id = o.id AND p.status = ?2) AS paidAmount
+            FROM Order o WHERE o.id = ?1""")
+    Optional<OrderSummarySource> findSummarySource(Long orderId, String paidStatus);
+
+    @Query("SELECT o.orderDate FROM Order o WHERE o.id = ?1")
+    Optional<Instant> findOrderDateById(Long orderId);
 }
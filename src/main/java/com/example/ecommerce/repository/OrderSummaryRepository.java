@@ -0,0 +1,61 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.OrderSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    // Seeds the order's row from the orders table so findByIdForUpdate always has a row to lock. A concurrent
+    // insert of the same order waits for this one to commit and then does nothing, instead of failing on the key.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO order_summary (order_id, customer_id, status, order_date, total, item_count, paid_amount, refreshed_at)
+            SELECT o.id, o.customer_id, o.status, COALESCE(o.order_date, o.created_at, CURRENT_TIMESTAMP), o.total, 0, 0, CURRENT_TIMESTAMP
+            FROM orders o
+            WHERE o.id = ?1 AND o.customer_id IS NOT NULL
+            ON CONFLICT DO NOTHING""")
+    int insertIfAbsent(Long orderId);
+
+    // Serializes refreshes of the same order, the later one reads the order after the earlier one committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderSummary s WHERE s.orderId = ?1")
+    Optional<OrderSummary> findByIdForUpdate(Long orderId);
+
+    // Newest-first pages in [from, to) strictly before (beforeDate, beforeId), one per filter combination
+    // so each is a range scan on its own (filter, order_date DESC, order_id DESC) index
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.orderDate >= ?1 AND (s.orderDate, s.orderId) < (?2, ?3)
+            ORDER BY s.orderDate DESC, s.orderId DESC""")
+    List<OrderSummary> findPage(Instant from, Instant beforeDate, Long beforeId, Limit limit);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.status = ?1 AND s.orderDate >= ?2 AND (s.orderDate, s.orderId) < (?3, ?4)
+            ORDER BY s.orderDate DESC, s.orderId DESC""")
+    List<OrderSummary> findPageByStatus(String status, Instant from, Instant beforeDate, Long beforeId, Limit limit);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.customerId = ?1 AND s.orderDate >= ?2 AND (s.orderDate, s.orderId) < (?3, ?4)
+            ORDER BY s.orderDate DESC, s.orderId DESC""")
+    List<OrderSummary> findPageByCustomerId(Long customerId, Instant from, Instant beforeDate, Long beforeId, Limit limit);
+
+    // A customer has few orders, the status is filtered within the customer's range
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.customerId = ?1 AND s.status = ?2 AND s.orderDate >= ?3 AND (s.orderDate, s.orderId) < (?4, ?5)
+            ORDER BY s.orderDate DESC, s.orderId DESC""")
+    List<OrderSummary> findPageByCustomerIdAndStatus(
+            Long customerId, String status, Instant from, Instant beforeDate, Long beforeId, Limit limit);
+}
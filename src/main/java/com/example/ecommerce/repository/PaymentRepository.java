@@ -1,10 +1,12 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.projection.PaymentView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +22,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Custom query to find payments within a specific amount range
     @Query("SELECT p FROM Payment p WHERE p.amount BETWEEN ?1 AND ?2")
     List<Payment> findAllByAmountBetween(Double minAmount, Double maxAmount);
+
+    // Bulk read without loading the orders
+    @Query("""
+            SELECT p.id AS id, p.order.id AS orderId, p.amount AS amount, p.paymentDate AS paymentDate,
+                   p.paymentMethod AS paymentMethod, p.status AS status
+            FROM Payment p WHERE p.id IN ?1""")
+    List<PaymentView> findViewsByIdIn(Collection<Long> ids);
 }
@@ -1,9 +1,31 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.projection.ProductTagView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // Keyset page: the next products after the given id, in id order (category is eager, so fetch it in the same query)
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id > ?1 ORDER BY p.id")
+    List<Product> findPageAfter(Long afterId, Limit limit);
+
+    // Scrolls the whole catalog with a server-side cursor, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    // Tag ids for a whole batch of products in one query over product_tags
+    @Query("SELECT p.id AS productId, t.id AS tagId FROM Product p JOIN p.tags t WHERE p.id IN ?1")
+    List<ProductTagView> findTagIdsByProductIds(Collection<Long> productIds);
 }
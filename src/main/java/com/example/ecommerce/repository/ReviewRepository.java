@@ -1,9 +1,48 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.Review;
+import com.example.ecommerce.model.projection.ReviewView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // Newest-first keyset pages, each one is a range scan on (product_id, created_at DESC, id DESC)
+    @Query("""
+            SELECT r.id AS id, r.product.id AS productId, r.customer.id AS customerId,
+                   r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.product.id = ?1
+            ORDER BY r.createdAt DESC, r.id DESC""")
+    List<ReviewView> findFirstPageByProductId(Long productId, Limit limit);
+
+    @Query("""
+            SELECT r.id AS id, r.product.id AS productId, r.customer.id AS customerId,
+                   r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.product.id = ?1 AND (r.createdAt, r.id) < (?2, ?3)
+            ORDER BY r.createdAt DESC, r.id DESC""")
+    List<ReviewView> findPageByProductIdBefore(Long productId, Instant createdAt, Long id, Limit limit);
+
+    // Same pages per customer, on (customer_id, created_at DESC, id DESC)
+    @Query("""
+            SELECT r.id AS id, r.product.id AS productId, r.customer.id AS customerId,
+                   r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.customer.id = ?1
+            ORDER BY r.createdAt DESC, r.id DESC""")
+    List<ReviewView> findFirstPageByCustomerId(Long customerId, Limit limit);
+
+    @Query("""
+            SELECT r.id AS id, r.product.id AS productId, r.customer.id AS customerId,
+                   r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.customer.id = ?1 AND (r.createdAt, r.id) < (?2, ?3)
+            ORDER BY r.createdAt DESC, r.id DESC""")
+    List<ReviewView> findPageByCustomerIdBefore(Long customerId, Instant createdAt, Long id, Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.SalesRollupDay;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SalesRollupDayRepository extends JpaRepository<SalesRollupDay, Instant> {
+    // Seeds the day's row so findByIdForUpdate always has a row to lock. A concurrent first mark of the same day
+    // waits for this insert to commit and then does nothing, instead of failing on the key.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO sales_rollup_days (day_start, dirty_hours, failed_attempts)
+            VALUES (?1, 0, 0)
+            ON CONFLICT DO NOTHING""")
+    int insertIfAbsent(Instant dayStart);
+
+    // Waits for a rebuild of the day in progress, the hour is then marked again and picked up by the next one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM SalesRollupDay d WHERE d.dayStart = ?1")
+    Optional<SalesRollupDay> findByIdForUpdate(Instant dayStart);
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): concurrent refreshers rebuild different days
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    // Days backing off after a failed rebuild are left for later
+    @Query("SELECT d FROM SalesRollupDay d WHERE d.dirtyHours <> 0 AND (d.retryAt IS NULL OR d.retryAt <= ?1) ORDER BY d.dayStart")
+    List<SalesRollupDay> findDirty(Instant now, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+    // Buckets starting in [from, to), a range scan on uk_sales_rollups_bucket
+    @Query("""
+            SELECT r FROM SalesRollup r
+            WHERE r.granularity = ?1 AND r.dimension = ?2 AND r.bucketStart >= ?3 AND r.bucketStart < ?4
+            ORDER BY r.bucketStart, r.dimensionId""")
+    List<SalesRollup> findBuckets(String granularity, String dimension, Instant from, Instant to);
+
+    // Every dimension's rows of the buckets starting in [from, to), what a day is merged from
+    @Query("SELECT r FROM SalesRollup r WHERE r.granularity = ?1 AND r.bucketStart >= ?2 AND r.bucketStart < ?3")
+    List<SalesRollup> findAllInBuckets(String granularity, Instant from, Instant to);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.granularity = ?1 AND r.bucketStart = ?2")
+    int deleteBucket(String granularity, Instant bucketStart);
+}
@@ -1,9 +1,19 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.model.Tag;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
+    // Result ids live in the query cache, the rows themselves in the entity region
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Tag> findAll();
 }
@@ -0,0 +1,19 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.TrendingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TrendingSnapshotRepository extends JpaRepository<TrendingSnapshot, String> {
+    List<TrendingSnapshot> findAllByNodeIdNotAndTakenAtAfter(String nodeId, Instant after);
+
+    @Modifying
+    @Query("DELETE FROM TrendingSnapshot s WHERE s.takenAt < ?1")
+    int deleteTakenBefore(Instant cutoff);
+}
@@ -0,0 +1,8 @@
+package com.example.ecommerce.security;
+
+public enum PrincipalSource {
+    // Rebuild the principal from the signed uid/roles claims, no database access per request
+    CLAIMS,
+    // Load the customer by username on every request (through the short-lived user details cache)
+    DATABASE
+}
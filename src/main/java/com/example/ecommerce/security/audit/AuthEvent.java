@@ -0,0 +1,14 @@
+package com.example.ecommerce.security.audit;
+
+import java.time.Instant;
+
+// Never carries the Authorization header or the token itself
+public record AuthEvent(
+        Instant timestamp,
+        AuthEventType type,
+        String method,
+        String path,
+        String username,
+        String detail
+) {
+}
@@ -0,0 +1,113 @@
+package com.example.ecommerce.security.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Request threads only count the event and, when sampled, drop it into a ring buffer.
+// A background thread drains the buffer into the "auth" logger, so no request waits on log I/O.
+@Component
+public class AuthEventLog {
+    private static final Logger log = LoggerFactory.getLogger("auth");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final RingBuffer<AuthEvent> buffer;
+    private final Map<AuthEventType, Integer> sampleEvery = new EnumMap<>(AuthEventType.class);
+    private final Map<AuthEventType, AtomicLong> seen = new EnumMap<>(AuthEventType.class);
+    private final Map<AuthEventType, Counter> eventCounters = new EnumMap<>(AuthEventType.class);
+    private final Counter droppedCounter;
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    public AuthEventLog(
+            MeterRegistry meterRegistry,
+            @Value("${security.auth-log.buffer-size:8192}") int bufferSize,
+            @Value("${security.auth-log.sample-every.anonymous:1000}") int anonymousSampleEvery,
+            @Value("${security.auth-log.sample-every.authenticated:100}") int authenticatedSampleEvery,
+            @Value("${security.auth-log.sample-every.rejected:1}") int rejectedSampleEvery,
+            @Value("${security.auth-log.sample-every.failed:1}") int failedSampleEvery
+    ) {
+        this.buffer = new RingBuffer<>(bufferSize);
+        sampleEvery.put(AuthEventType.ANONYMOUS, anonymousSampleEvery);
+        sampleEvery.put(AuthEventType.AUTHENTICATED, authenticatedSampleEvery);
+        sampleEvery.put(AuthEventType.REJECTED, rejectedSampleEvery);
+        sampleEvery.put(AuthEventType.FAILED, failedSampleEvery);
+
+        for (AuthEventType type : AuthEventType.values()) {
+            seen.put(type, new AtomicLong());
+            eventCounters.put(type, Counter.builder("auth.events")
+                    .tag("type", type.name().toLowerCase())
+                    .description("Authentication outcomes seen by the JWT filter, before sampling")
+                    .register(meterRegistry));
+        }
+        this.droppedCounter = Counter.builder("auth.events.dropped")
+                .description("Sampled auth events discarded because the log buffer was full")
+                .register(meterRegistry);
+
+        this.consumer = new Thread(this::drainLoop, "auth-event-log");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    // Every event is counted, only every n-th event of its type is logged (n <= 0 disables logging for the type)
+    public void record(AuthEventType type, String method, String path, String username, String detail) {
+        eventCounters.get(type).increment();
+
+        int every = sampleEvery.get(type);
+        if (every <= 0 || seen.get(type).getAndIncrement() % every != 0) {
+            return;
+        }
+
+        if (!buffer.offer(new AuthEvent(Instant.now(), type, method, path, username, detail))) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    // Returns whether anything was written
+    private boolean drain() {
+        boolean wrote = false;
+        AuthEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    private static void write(AuthEvent event) {
+        if (event.type() == AuthEventType.FAILED || event.type() == AuthEventType.REJECTED) {
+            log.warn("auth_event type={} method={} path={} user={} detail={} at={}",
+                    event.type(), event.method(), event.path(), event.username(), event.detail(), event.timestamp());
+        } else {
+            log.info("auth_event type={} method={} path={} user={} at={}",
+                    event.type(), event.method(), event.path(), event.username(), event.timestamp());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+}
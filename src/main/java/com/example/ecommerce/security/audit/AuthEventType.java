@@ -0,0 +1,12 @@
+package com.example.ecommerce.security.audit;
+
+public enum AuthEventType {
+    // Request without a bearer token
+    ANONYMOUS,
+    // Token verified and the principal put into the security context
+    AUTHENTICATED,
+    // Token parsed but did not match the resolved principal
+    REJECTED,
+    // Token could not be parsed or verified (malformed, expired, bad signature)
+    FAILED
+}
@@ -1,11 +1,15 @@
 package com.example.ecommerce.security.filter;
 
+import com.example.ecommerce.security.PrincipalSource;
+import com.example.ecommerce.security.audit.AuthEventLog;
+import com.example.ecommerce.security.audit.AuthEventType;
 import com.example.ecommerce.service.CustomerService;
 import com.example.ecommerce.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,6 +21,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -24,15 +29,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomerService customerService;
+    private final PrincipalSource principalSource;
+    private final AuthEventLog authEventLog;
 
     public JwtFilter(
             JwtService jwtService,
             CustomerService customerService,
-            HandlerExceptionResolver handlerExceptionResolver
+            HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${security.jwt.principal-source:CLAIMS}") PrincipalSource principalSource,
+            AuthEventLog authEventLog
     ) {
         this.jwtService = jwtService;
         this.customerService = customerService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.principalSource = principalSource;
+        this.authEventLog = authEventLog;
     }
 
     @Override
@@ -42,10 +53,9 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        System.out.println("Authorization header: " + authHeader);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            System.out.println("No valid Authorization header, proceeding without authentication.");
+            authEventLog.record(AuthEventType.ANONYMOUS, request.getMethod(), request.getRequestURI(), null, null);
             filterChain.doFilter(request, response);
             return;
         }
@@ -53,13 +63,11 @@ public class JwtFilter extends OncePerRequestFilter {
         try {
             final String jwt = authHeader.substring(7);
             final String username = jwtService.extractUsername(jwt);
-            System.out.println("Extracted user email: " + username);
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (username != null && authentication == null) {
-                UserDetails userDetails = this.customerService.loadUserByUsername(username);
-                System.out.println("Loaded user details: " + userDetails.getUsername());
+                UserDetails userDetails = resolvePrincipal(jwt, username);
 
                 if (jwtService.isTokenValid(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -70,14 +78,29 @@ public class JwtFilter extends OncePerRequestFilter {
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    System.out.println("User authenticated successfully.");
+                    authEventLog.record(AuthEventType.AUTHENTICATED, request.getMethod(), request.getRequestURI(), username, null);
+                } else {
+                    authEventLog.record(AuthEventType.REJECTED, request.getMethod(), request.getRequestURI(), username, "token does not match principal");
                 }
             }
 
             filterChain.doFilter(request, response);
         } catch (Exception exception) {
-            System.out.println("Exception during authentication: " + exception.getMessage());
+            // Exception class and message only, the header and token themselves are never logged
+            authEventLog.record(AuthEventType.FAILED, request.getMethod(), request.getRequestURI(), null,
+                    exception.getClass().getSimpleName() + ": " + exception.getMessage());
             handlerExceptionResolver.resolveException(request, response, null, exception);
         }
     }
-}
\ No newline at end of file
+
+    // Claims-based principals skip the customer lookup, tokens without usable claims fall back to the database
+    private UserDetails resolvePrincipal(String jwt, String username) {
+        if (principalSource == PrincipalSource.CLAIMS) {
+            Optional<UserDetails> principal = jwtService.extractPrincipal(jwt);
+            if (principal.isPresent()) {
+                return principal.get();
+            }
+        }
+        return this.customerService.loadUserByUsername(username);
+    }
+}
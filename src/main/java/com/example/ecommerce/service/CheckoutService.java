@@ -0,0 +1,161 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CheckoutDto;
+import com.example.ecommerce.dto.CheckoutItemDto;
+import com.example.ecommerce.dto.CheckoutResultDto;
+import com.example.ecommerce.dto.OrderItemDto;
+import com.example.ecommerce.dto.PaymentDto;
+import com.example.ecommerce.event.ProductsSoldEvent;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CheckoutService {
+    static final String INITIAL_STATUS = "Pending";
+
+    private final OrderService orderService;
+    private final CustomerService customerService;
+    private final ProductRepository productRepository;
+    private final PaymentService paymentService;
+    private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CheckoutService(
+            OrderService orderService,
+            CustomerService customerService,
+            ProductRepository productRepository,
+            PaymentService paymentService,
+            InventoryService inventoryService,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.orderService = orderService;
+        this.customerService = customerService;
+        this.productRepository = productRepository;
+        this.paymentService = paymentService;
+        this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // One transaction: a single product query, then order, items, payment, outbox event and reservations flushed
+    // as batched inserts, and one batch of conditional stock updates last, right before the commit
+    @Transactional
+    public CheckoutResultDto checkout(CheckoutDto checkoutDto) {
+        Map<Long, Integer> quantities = mergeQuantities(checkoutDto);
+        if (checkoutDto.getPaymentMethod() == null || checkoutDto.getPaymentMethod().isBlank()) {
+            throw new BadRequestException("Payment method is required");
+        }
+        if (checkoutDto.getCustomerId() == null) {
+            throw new BadRequestException("Customer id is required");
+        }
+
+        Customer customer = customerService.findById(checkoutDto.getCustomerId());
+
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Long> missingIds = quantities.keySet().stream()
+                .filter(id -> !products.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found: " + missingIds);
+        }
+
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus(INITIAL_STATUS);
+        order.setOrderDate(Instant.now());
+
+        List<OrderItem> orderItems = new ArrayList<>(quantities.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(product);
+            orderItem.setQuantity(line.getValue());
+            orderItem.setPrice(product.getPrice());
+            order.addOrderItem(orderItem);
+            orderItems.add(orderItem);
+
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(line.getValue())));
+        }
+        order.setTotal(total);
+
+        Payment payment = new Payment();
+        payment.setAmount(total);
+        payment.setPaymentMethod(checkoutDto.getPaymentMethod());
+        payment.setStatus(INITIAL_STATUS);
+        payment.setPaymentDate(order.getOrderDate());
+        order.addPayment(payment);
+
+        Order savedOrder = orderService.createOrder(order);
+        // The last write: flushes the order graph, then takes the product row locks that are held until commit.
+        // Throws InsufficientStockException and rolls the whole checkout back if any line is short
+        inventoryService.reserve(savedOrder, quantities);
+        // Counted as trending once the checkout commits
+        eventPublisher.publishEvent(new ProductsSoldEvent(savedOrder.getOrderDate(), quantities.entrySet().stream()
+                .map(line -> new ProductsSoldEvent.Line(line.getKey(), products.get(line.getKey()).getCategoryId(), line.getValue()))
+                .toList()));
+        return toResult(savedOrder, orderItems, payment);
+    }
+
+    // Repeated lines for the same product are merged, keeping the order the client sent them in
+    private static Map<Long, Integer> mergeQuantities(CheckoutDto checkoutDto) {
+        if (checkoutDto.getItems() == null || checkoutDto.getItems().isEmpty()) {
+            throw new BadRequestException("Checkout must contain at least one item");
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutItemDto item : checkoutDto.getItems()) {
+            if (item.getProductId() == null || item.getQuantity() <= 0) {
+                throw new BadRequestException("Each item needs a product id and a positive quantity");
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private CheckoutResultDto toResult(Order order, List<OrderItem> orderItems, Payment payment) {
+        CheckoutResultDto result = new CheckoutResultDto();
+        result.setOrderId(order.getId());
+        result.setCustomerId(order.getCustomerId());
+        result.setStatus(order.getStatus());
+        result.setTotal(order.getTotal());
+        result.setOrderDate(order.getOrderDate());
+
+        result.setItems(orderItems.stream()
+                .map(orderItem -> {
+                    OrderItemDto dto = new OrderItemDto();
+                    dto.setId(orderItem.getId());
+                    dto.setOrderId(order.getId());
+                    dto.setProductId(orderItem.getProductId());
+                    dto.setQuantity(orderItem.getQuantity());
+                    dto.setPrice(orderItem.getPrice());
+                    return dto;
+                })
+                .toList());
+
+        PaymentDto paymentDto = paymentService.convertToDto(payment);
+        paymentDto.setId(payment.getId());
+        paymentDto.setOrderId(order.getId());
+        result.setPayment(paymentDto);
+        return result;
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.cache.SingleFlight;
+import com.example.ecommerce.config.CacheConfig;
+import com.example.ecommerce.event.RolesChangedEvent;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Customer;
 import com.example.ecommerce.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,20 +18,32 @@ import org.springframework.stereotype.Service;
 @Service
 public class CustomerService implements UserDetailsService {
     private final CustomerRepository customerRepository;
+    private final SingleFlight<Long, Customer> customerLoads = new SingleFlight<>();
 
     @Autowired
     public CustomerService(CustomerRepository customerRepository) {
         this.customerRepository = customerRepository;
     }
 
+    // Concurrent lookups of the same id share one SELECT. The shared result is a detached copy and every caller
+    // gets its own copy of it, so no managed entity crosses persistence contexts
     public Customer findById(Long id) {
-        return customerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        Customer loaded = customerLoads.load(id, customerId -> customerRepository.findById(customerId)
+                .map(Customer::new)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found")));
+        return new Customer(loaded);
     }
 
+    // Only hit when the JWT filter runs with the DATABASE principal source or the token lacks principal claims
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return customerRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
+
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS_CACHE, allEntries = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.config.CacheConfig;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.InventoryReservation;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.repository.InventoryReservationRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class InventoryService {
+    // Check-and-decrement in one statement. Concurrent buyers of a product still queue on its row lock, and the
+    // stock check is re-evaluated on the latest row once a buyer gets it, so a buyer that comes up short updates nothing
+    static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    static final String INCREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+
+    public InventoryService(
+            JdbcTemplate jdbcTemplate,
+            InventoryReservationRepository reservationRepository,
+            ProductRepository productRepository,
+            CacheManager cacheManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // All lines succeed or the transaction rolls back, quantities are keyed by product id. Call it last in the
+    // transaction: the reservations and everything pending before them are flushed first, so the product rows are
+    // locked by the stock update only between that update and the commit
+    @Transactional
+    public List<InventoryReservation> reserve(Order order, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+
+        // Ascending product ids so multi-line orders always lock rows in the same order and cannot deadlock
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+
+        List<InventoryReservation> reservations = reservationRepository.saveAllAndFlush(lines.stream()
+                .map(line -> new InventoryReservation(order, productRepository.getReferenceById(line.getKey()), line.getValue()))
+                .toList());
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+
+        List<Long> outOfStock = new ArrayList<>();
+        int[] counts = updateCounts.length > 0 ? updateCounts[0] : new int[0];
+        for (int i = 0; i < lines.size(); i++) {
+            if (counts[i] == 0) {
+                outOfStock.add(lines.get(i).getKey());
+            }
+        }
+        if (!outOfStock.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for products: " + outOfStock);
+        }
+
+        evictProductsAfterCommit(quantities.keySet());
+        return reservations;
+    }
+
+    // Puts reserved stock back, calling it again for the same order is a no-op
+    @Transactional
+    public void release(Long orderId) {
+        List<InventoryReservation> reservations =
+                reservationRepository.findAllByOrderIdAndStatusForUpdate(orderId, InventoryReservation.RESERVED);
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        reservations.sort((a, b) -> Long.compare(a.getProductId(), b.getProductId()));
+        jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, reservations, reservations.size(), (ps, reservation) -> {
+            ps.setInt(1, reservation.getQuantity());
+            ps.setLong(2, reservation.getProductId());
+        });
+
+        List<Long> productIds = new ArrayList<>();
+        for (InventoryReservation reservation : reservations) {
+            reservation.setStatus(InventoryReservation.RELEASED);
+            productIds.add(reservation.getProductId());
+        }
+        evictProductsAfterCommit(productIds);
+    }
+
+    // Cached product DTOs carry the stock level, drop them once the new value is visible to other readers
+    private void evictProductsAfterCommit(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        List<Long> ids = List.copyOf(productIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(cache::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+}
@@ -1,26 +1,74 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.event.RolesChangedEvent;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.security.TokenPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    static final String CUSTOMER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
 
-    @Value("${security.jwt.expiration-time}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    // Decoded once, the key and parser are immutable and thread-safe
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+
+    // Claims of tokens that already passed signature verification, keyed by the token's SHA-256
+    // and dropped when the token itself expires
+    private final Cache<String, Claims> verifiedTokens;
+
+    // Role/authority claims of tokens issued at or before this instant are no longer trusted
+    private volatile Instant claimsNotAfter = Instant.EPOCH;
+
+    public JwtService(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.expiration-time}") long jwtExpiration,
+            @Value("${security.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -31,6 +79,28 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    // Principal rebuilt from the token's claims, empty for tokens without them or issued before a role change
+    public Optional<UserDetails> extractPrincipal(String token) {
+        final Claims claims = extractAllClaims(token);
+        final Number customerId = claims.get(CUSTOMER_ID_CLAIM, Number.class);
+        final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        final Date issuedAt = claims.getIssuedAt();
+
+        if (customerId == null || roles == null || issuedAt == null || !issuedAt.toInstant().isAfter(claimsNotAfter)) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return Optional.of(new TokenPrincipal(customerId.longValue(), claims.getSubject(), authorities));
+    }
+
+    @EventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        claimsNotAfter = Instant.now();
+    }
+
     public String generateToken(UserDetails userDetails) {
         return buildToken(userDetails, jwtExpiration);
     }
@@ -40,13 +110,20 @@ public class JwtService {
     }
 
     private String buildToken(UserDetails userDetails, long expiration) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        if (userDetails instanceof Customer customer) {
+            claims.put(CUSTOMER_ID_CLAIM, customer.getId());
+        }
+
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
-                .setClaims(new HashMap<>())
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -63,17 +140,39 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    // Invalid or expired tokens throw from the parser and are never cached
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifiedTokens.get(tokenHash(token), hash -> jwtParser.parseSignedClaims(token).getPayload());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long millisLeft = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,25 +1,41 @@
 package com.example.ecommerce.service;
 
 import com.example.ecommerce.dto.OrderItemDto;
+import com.example.ecommerce.event.OrderItemEvent;
+import com.example.ecommerce.event.ProductsSoldEvent;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.projection.OrderItemView;
+import com.example.ecommerce.outbox.OutboxPublisher;
 import com.example.ecommerce.repository.OrderItemRepository;
 import com.example.ecommerce.repository.OrderRepository;
-import com.example.ecommerce.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
 public class OrderItemService {
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
-
-    public OrderItemService(OrderItemRepository orderItemRepository, OrderRepository orderRepository, ProductRepository productRepository) {
+    private final ProductService productService;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderItemService(
+            OrderItemRepository orderItemRepository,
+            OrderRepository orderRepository,
+            ProductService productService,
+            OutboxPublisher outboxPublisher,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
-        this.productRepository = productRepository;
+        this.productService = productService;
+        this.outboxPublisher = outboxPublisher;
+        this.eventPublisher = eventPublisher;
     }
 
     public OrderItem findById(Long id) {
@@ -39,50 +55,94 @@ public class OrderItemService {
         return orderItemRepository.findAllWithQuantityGreaterThan(quantity);
     }
 
+    // Read path for the controller, each call is a single projection query whatever the number of items
+    @Transactional(readOnly = true)
+    public OrderItemDto getOrderItemDtoById(Long id) {
+        return orderItemRepository.findViewById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Order item not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderItemDto> getOrderItemDtosByOrderId(Long orderId) {
+        return orderItemRepository.findViewsByOrderId(orderId).stream().map(this::convertToDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderItemDto> getOrderItemDtosByProductId(Long productId) {
+        return orderItemRepository.findViewsByProductId(productId).stream().map(this::convertToDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderItemDto> getOrderItemDtosWithQuantityGreaterThan(int quantity) {
+        return orderItemRepository.findViewsWithQuantityGreaterThan(quantity).stream().map(this::convertToDto).toList();
+    }
+
+    @Transactional
     public OrderItem updateOrderItemQuantity(Long orderItemId, int quantity) {
         var orderItem = findById(orderItemId);
         orderItem.setQuantity(quantity);
-        return orderItemRepository.save(orderItem);
+        OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        outboxPublisher.publish(OrderItemEvent.AGGREGATE, orderItemId, OrderItemEvent.UPDATED, OrderItemEvent.of(savedOrderItem));
+        return savedOrderItem;
+    }
+
+    // The order is loaded to attach it and the product DTO comes from the cache, both feed the sale event
+    @Transactional
+    public OrderItem createOrderItem(OrderItemDto orderItemDto) {
+        var order = orderRepository.findById(orderItemDto.getOrderId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        // Existence is checked against the product cache, the association only needs a reference
+        var product = productService.getProductDtoById(orderItemDto.getProductId());
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setQuantity(orderItemDto.getQuantity());
+        orderItem.setPrice(orderItemDto.getPrice());
+        orderItem.setOrder(order);
+        orderItem.setProduct(productService.getProductReference(product.getId()));
+
+        return createOrderItem(orderItem, product.getCategoryId(), order.getOrderDate());
     }
 
-    public OrderItem createOrderItem(OrderItem orderItem) {
-        return orderItemRepository.save(orderItem);
+    // The caller passes what it already loaded, so the item's order and product references stay uninitialized
+    @Transactional
+    public OrderItem createOrderItem(OrderItem orderItem, Long categoryId, Instant orderDate) {
+        OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        outboxPublisher.publish(OrderItemEvent.AGGREGATE, savedOrderItem.getId(), OrderItemEvent.CREATED, OrderItemEvent.of(savedOrderItem));
+        // The sale counts at the order's date
+        Instant soldAt = orderDate != null ? orderDate : Instant.now();
+        eventPublisher.publishEvent(new ProductsSoldEvent(soldAt, List.of(new ProductsSoldEvent.Line(
+                savedOrderItem.getProductId(), categoryId, savedOrderItem.getQuantity()))));
+        return savedOrderItem;
     }
 
+    @Transactional
     public void deleteOrderItem(Long id) {
-        orderItemRepository.deleteById(id);
+        orderItemRepository.findById(id).ifPresent(orderItem -> {
+            orderItemRepository.delete(orderItem);
+            outboxPublisher.publish(OrderItemEvent.AGGREGATE, id, OrderItemEvent.DELETED, OrderItemEvent.of(orderItem));
+        });
     }
 
+    // The item already carries both ids, no lookups needed
     public OrderItemDto convertToDto(OrderItem orderItem) {
         OrderItemDto dto = new OrderItemDto();
-
-        var orderId = orderRepository.findById(orderItem.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        var productId = productRepository.findById(orderItem.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        dto.setOrderId(orderId.getId());
-        dto.setProductId(productId.getId());
+        dto.setId(orderItem.getId());
+        dto.setOrderId(orderItem.getOrderId());
+        dto.setProductId(orderItem.getProductId());
         dto.setQuantity(orderItem.getQuantity());
         dto.setPrice(orderItem.getPrice());
         return dto;
     }
 
-    public OrderItem convertToEntity(OrderItemDto orderItemDto) {
-        OrderItem orderItem = new OrderItem();
-        orderItem.setQuantity(orderItemDto.getQuantity());
-        orderItem.setPrice(orderItemDto.getPrice());
-
-        var order = orderRepository.findById(orderItemDto.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        var product = productRepository.findById(orderItemDto.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        orderItem.setOrder(order);
-        orderItem.setProduct(product);
-
-        return orderItem;
+    private OrderItemDto convertToDto(OrderItemView orderItem) {
+        OrderItemDto dto = new OrderItemDto();
+        dto.setId(orderItem.getId());
+        dto.setOrderId(orderItem.getOrderId());
+        dto.setProductId(orderItem.getProductId());
+        dto.setProductName(orderItem.getProductName());
+        dto.setQuantity(orderItem.getQuantity());
+        dto.setPrice(orderItem.getPrice());
+        return dto;
     }
 }
@@ -1,43 +1,165 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.OrderDto;
+import com.example.ecommerce.dto.OrderHistoryEntryDto;
+import com.example.ecommerce.event.OrderEvent;
+import com.example.ecommerce.exception.BadRequestException;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.projection.OrderHistoryView;
+import com.example.ecommerce.model.projection.OrderItemIdView;
+import com.example.ecommerce.model.projection.OrderView;
+import com.example.ecommerce.outbox.OutboxPublisher;
+import com.example.ecommerce.repository.CustomerRepository;
 import com.example.ecommerce.repository.OrderRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class OrderService {
+    public static final String CANCELLED_STATUS = "Cancelled";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Open ends of the order history date range
+    static final Instant EARLIEST = Instant.EPOCH;
+    static final Instant LATEST = Instant.parse("9999-12-31T00:00:00Z");
+
     private final OrderRepository orderRepository;
+    private final InventoryService inventoryService;
+    private final CustomerRepository customerRepository;
+    private final OutboxPublisher outboxPublisher;
 
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(
+            OrderRepository orderRepository,
+            InventoryService inventoryService,
+            CustomerRepository customerRepository,
+            OutboxPublisher outboxPublisher
+    ) {
         this.orderRepository = orderRepository;
+        this.inventoryService = inventoryService;
+        this.customerRepository = customerRepository;
+        this.outboxPublisher = outboxPublisher;
     }
 
     public List<Order> findAllOrdersBasedOnCustomer(Long customerId) {
         return this.orderRepository.findByCustomer_Id(customerId);
     }
 
+    // Newest first within [from, to), pass the previous page's nextCursor to continue
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderHistoryEntryDto> getOrderHistory(Long customerId, Instant from, Instant to, String cursor, int limit) {
+        Instant rangeStart = from != null ? from : EARLIEST;
+        Instant rangeEnd = to != null ? to : LATEST;
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new BadRequestException("from must be before to");
+        }
+
+        // Without a cursor the page starts just below (to, 0), which is the same as order_date < to
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        KeysetCursor before = after != null ? after : new KeysetCursor(rangeEnd, 0);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One row more than the page size tells whether another page follows
+        List<OrderHistoryView> orders = orderRepository.findHistoryPage(
+                customerId, rangeStart, before.timestamp(), before.id(), Limit.of(pageSize + 1));
+
+        // Only an empty first page needs to tell an unknown customer from one without orders
+        if (orders.isEmpty() && after == null && !customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+
+        List<OrderHistoryView> page = orders.size() > pageSize ? orders.subList(0, pageSize) : orders;
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            OrderHistoryView last = page.getLast();
+            nextCursor = new KeysetCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(page.stream().map(this::convertToHistoryEntry).toList(), nextCursor);
+    }
+
+    public OrderHistoryEntryDto convertToHistoryEntry(OrderHistoryView order) {
+        OrderHistoryEntryDto entry = new OrderHistoryEntryDto();
+        entry.setId(order.getId());
+        entry.setOrderDate(order.getOrderDate());
+        entry.setStatus(order.getStatus());
+        entry.setTotal(order.getTotal());
+        entry.setItemCount(order.getItemCount());
+        return entry;
+    }
+
+    // One query for the orders and one batched query for their item ids, whatever the number of ids
+    @Transactional(readOnly = true)
+    public MultiGetDto<OrderDto> getOrderDtosByIds(List<Long> ids) {
+        List<Long> requestedIds = MultiGetDto.distinctIds(ids);
+        List<OrderView> orders = orderRepository.findViewsByIdIn(requestedIds);
+
+        Map<Long, List<Long>> itemIdsByOrder = new HashMap<>();
+        if (!orders.isEmpty()) {
+            for (OrderItemIdView view : orderRepository.findOrderItemIdsByOrderIds(orders.stream().map(OrderView::getId).toList())) {
+                itemIdsByOrder.computeIfAbsent(view.getOrderId(), id -> new ArrayList<>()).add(view.getOrderItemId());
+            }
+        }
+
+        List<OrderDto> orderDtos = orders.stream()
+                .map(order -> convertToDto(order, itemIdsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+        return MultiGetDto.of(requestedIds, orderDtos, OrderDto::getId);
+    }
+
+    private OrderDto convertToDto(OrderView order, List<Long> orderItemIds) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setId(order.getId());
+        orderDto.setCustomerId(order.getCustomerId());
+        orderDto.setOrderDate(order.getOrderDate());
+        orderDto.setStatus(order.getStatus());
+        orderDto.setTotal(order.getTotal());
+        orderDto.setOrderItemIds(orderItemIds);
+        return orderDto;
+    }
+
     public Optional<Order> findOrderById(Long id) {
         return this.orderRepository.findById(id);
     }
 
+    @Transactional
     public Order createOrder(Order order) {
-        return this.orderRepository.save(order);
+        Order savedOrder = this.orderRepository.save(order);
+        outboxPublisher.publish(OrderEvent.AGGREGATE, savedOrder.getId(), OrderEvent.CREATED, OrderEvent.of(savedOrder));
+        return savedOrder;
     }
 
+    @Transactional
     public Order updateOrderStatus(Long id, String orderStatus) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         order.setStatus(orderStatus);
+        if (CANCELLED_STATUS.equalsIgnoreCase(orderStatus)) {
+            inventoryService.release(id);
+        }
 
-        return this.orderRepository.save(order);
+        Order savedOrder = this.orderRepository.save(order);
+        outboxPublisher.publish(OrderEvent.AGGREGATE, id, OrderEvent.STATUS_CHANGED, OrderEvent.of(savedOrder));
+        return savedOrder;
     }
 
+    @Transactional
     public void deleteOrderById(Long id) {
-        this.orderRepository.deleteById(id);
+        this.orderRepository.findById(id).ifPresent(order -> {
+            this.orderRepository.delete(order);
+            outboxPublisher.publish(OrderEvent.AGGREGATE, id, OrderEvent.DELETED, OrderEvent.of(order));
+        });
     }
 }
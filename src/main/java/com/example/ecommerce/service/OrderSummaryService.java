@@ -0,0 +1,119 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
+import com.example.ecommerce.dto.OrderSummaryDto;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.OrderSummary;
+import com.example.ecommerce.model.projection.OrderSummarySource;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderSummaryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// Reads and maintains the order_summary read model behind the back-office dashboards.
+// Rows trail the orders by the outbox relay's delay; refreshedAt tells how fresh a row is.
+@Service
+public class OrderSummaryService {
+    public static final String PAID_STATUS = "Completed";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderRepository orderRepository;
+
+    public OrderSummaryService(OrderSummaryRepository orderSummaryRepository, OrderRepository orderRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    // Rebuilds the order's row from its current state rather than applying a delta,
+    // so redelivered or reordered events cannot drift the totals
+    @Transactional
+    public void refresh(Long orderId) {
+        orderSummaryRepository.insertIfAbsent(orderId);
+        Optional<OrderSummary> existing = orderSummaryRepository.findByIdForUpdate(orderId);
+        Optional<OrderSummarySource> source = orderRepository.findSummarySource(orderId, PAID_STATUS);
+        if (source.isEmpty()) {
+            existing.ifPresent(orderSummaryRepository::delete);
+            return;
+        }
+
+        OrderSummarySource order = source.get();
+        OrderSummary summary = existing.orElseGet(() -> new OrderSummary(orderId));
+        summary.setCustomerId(order.getCustomerId());
+        summary.setStatus(order.getStatus());
+        summary.setOrderDate(order.getOrderDate());
+        summary.setTotal(order.getTotal());
+        summary.setItemCount(order.getItemCount());
+        summary.setPaidAmount(order.getPaidAmount());
+        summary.setRefreshedAt(Instant.now());
+        orderSummaryRepository.save(summary);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderSummaryDto getSummary(Long orderId) {
+        return orderSummaryRepository.findById(orderId)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Order summary not found"));
+    }
+
+    // Newest first within [from, to), optionally narrowed to a status and/or a customer
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderSummaryDto> getSummaries(
+            String status, Long customerId, Instant from, Instant to, String cursor, int limit) {
+        Instant rangeStart = from != null ? from : OrderService.EARLIEST;
+        Instant rangeEnd = to != null ? to : OrderService.LATEST;
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new BadRequestException("from must be before to");
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        KeysetCursor before = after != null ? after : new KeysetCursor(rangeEnd, 0);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<OrderSummary> summaries;
+        if (customerId != null && status != null) {
+            summaries = orderSummaryRepository.findPageByCustomerIdAndStatus(
+                    customerId, status, rangeStart, before.timestamp(), before.id(), fetchLimit);
+        } else if (customerId != null) {
+            summaries = orderSummaryRepository.findPageByCustomerId(
+                    customerId, rangeStart, before.timestamp(), before.id(), fetchLimit);
+        } else if (status != null) {
+            summaries = orderSummaryRepository.findPageByStatus(
+                    status, rangeStart, before.timestamp(), before.id(), fetchLimit);
+        } else {
+            summaries = orderSummaryRepository.findPage(rangeStart, before.timestamp(), before.id(), fetchLimit);
+        }
+
+        List<OrderSummary> page = summaries.size() > pageSize ? summaries.subList(0, pageSize) : summaries;
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            OrderSummary last = page.getLast();
+            nextCursor = new KeysetCursor(last.getOrderDate(), last.getOrderId()).encode();
+        }
+        return new CursorPageDto<>(page.stream().map(this::convertToDto).toList(), nextCursor);
+    }
+
+    public OrderSummaryDto convertToDto(OrderSummary summary) {
+        OrderSummaryDto dto = new OrderSummaryDto();
+        dto.setOrderId(summary.getOrderId());
+        dto.setCustomerId(summary.getCustomerId());
+        dto.setStatus(summary.getStatus());
+        dto.setOrderDate(summary.getOrderDate());
+        dto.setTotal(summary.getTotal());
+        dto.setItemCount(summary.getItemCount());
+        dto.setPaidAmount(summary.getPaidAmount());
+        dto.setOutstandingAmount(summary.getTotal().subtract(summary.getPaidAmount()).max(BigDecimal.ZERO));
+        dto.setRefreshedAt(summary.getRefreshedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.event.OrderEvent;
+import com.example.ecommerce.event.OrderItemEvent;
+import com.example.ecommerce.event.PaymentEvent;
+import com.example.ecommerce.outbox.OutboxMessage;
+import com.example.ecommerce.outbox.OutboxSubscriber;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Keeps order_summary in step with every order, item and payment write, off the request path
+@Component
+public class OrderSummarySubscriber implements OutboxSubscriber {
+    private static final Set<String> EVENT_TYPES = Set.of(
+            OrderEvent.CREATED, OrderEvent.STATUS_CHANGED, OrderEvent.DELETED,
+            OrderItemEvent.CREATED, OrderItemEvent.UPDATED, OrderItemEvent.DELETED,
+            PaymentEvent.CREATED, PaymentEvent.UPDATED, PaymentEvent.DELETED);
+
+    private final OrderSummaryService orderSummaryService;
+    private final ObjectMapper objectMapper;
+
+    public OrderSummarySubscriber(OrderSummaryService orderSummaryService, ObjectMapper objectMapper) {
+        this.orderSummaryService = orderSummaryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "order-summary";
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return EVENT_TYPES.contains(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        // Order events are keyed by the order, item and payment payloads carry it
+        if (OrderEvent.AGGREGATE.equals(message.aggregateType())) {
+            orderSummaryService.refresh(message.aggregateId());
+            return;
+        }
+        JsonNode orderId = objectMapper.readTree(message.payload()).path("orderId");
+        if (orderId.canConvertToLong()) {
+            orderSummaryService.refresh(orderId.asLong());
+        }
+    }
+}
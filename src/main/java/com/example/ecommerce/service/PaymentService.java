@@ -1,10 +1,15 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.MultiGetDto;
 import com.example.ecommerce.dto.PaymentDto;
+import com.example.ecommerce.event.PaymentEvent;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.projection.PaymentView;
+import com.example.ecommerce.outbox.OutboxPublisher;
 import com.example.ecommerce.repository.PaymentRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.List;
@@ -12,9 +17,11 @@ import java.util.List;
 @Service
 public class PaymentService {
     private final PaymentRepository paymentRepository;
+    private final OutboxPublisher outboxPublisher;
 
-    public PaymentService(PaymentRepository paymentRepository) {
+    public PaymentService(PaymentRepository paymentRepository, OutboxPublisher outboxPublisher) {
         this.paymentRepository = paymentRepository;
+        this.outboxPublisher = outboxPublisher;
     }
 
     public List<Payment> findAllByOrderId(Long orderId) {
@@ -25,6 +32,15 @@ public class PaymentService {
         return paymentRepository.findById(id);
     }
 
+    // One projection query, the payments' orders are not loaded
+    public MultiGetDto<PaymentDto> getPaymentDtosByIds(List<Long> ids) {
+        List<Long> requestedIds = MultiGetDto.distinctIds(ids);
+        List<PaymentDto> payments = paymentRepository.findViewsByIdIn(requestedIds).stream()
+                .map(this::convertToDto)
+                .toList();
+        return MultiGetDto.of(requestedIds, payments, PaymentDto::getId);
+    }
+
     public List<Payment> findAllByStatus(String status) {
         return paymentRepository.findAllByStatus(status);
     }
@@ -33,10 +49,14 @@ public class PaymentService {
         return paymentRepository.findAllByAmountBetween(minAmount, maxAmount);
     }
 
+    @Transactional
     public Payment createPayment(Payment payment) {
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        outboxPublisher.publish(PaymentEvent.AGGREGATE, savedPayment.getId(), PaymentEvent.CREATED, PaymentEvent.of(savedPayment));
+        return savedPayment;
     }
 
+    @Transactional
     public Payment updatePayment(Long id, Payment updatedPayment) {
         var existingPayment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found"));
@@ -46,11 +66,17 @@ public class PaymentService {
         existingPayment.setPaymentMethod(updatedPayment.getPaymentMethod());
         existingPayment.setStatus(updatedPayment.getStatus());
 
-        return paymentRepository.save(existingPayment);
+        Payment savedPayment = paymentRepository.save(existingPayment);
+        outboxPublisher.publish(PaymentEvent.AGGREGATE, id, PaymentEvent.UPDATED, PaymentEvent.of(savedPayment));
+        return savedPayment;
     }
 
+    @Transactional
     public void deletePayment(Long id) {
-        paymentRepository.deleteById(id);
+        paymentRepository.findById(id).ifPresent(payment -> {
+            paymentRepository.delete(payment);
+            outboxPublisher.publish(PaymentEvent.AGGREGATE, id, PaymentEvent.DELETED, PaymentEvent.of(payment));
+        });
     }
 
     public PaymentDto convertToDto(Payment payment) {
@@ -62,4 +88,14 @@ public class PaymentService {
         return paymentDto;
     }
 
+    private PaymentDto convertToDto(PaymentView payment) {
+        PaymentDto paymentDto = new PaymentDto();
+        paymentDto.setId(payment.getId());
+        paymentDto.setOrderId(payment.getOrderId());
+        paymentDto.setAmount(payment.getAmount());
+        paymentDto.setPaymentDate(payment.getPaymentDate());
+        paymentDto.setPaymentMethod(payment.getPaymentMethod());
+        paymentDto.setStatus(payment.getStatus());
+        return paymentDto;
+    }
 }
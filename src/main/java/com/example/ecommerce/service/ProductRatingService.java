@@ -0,0 +1,110 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductRatingDto;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.ProductRatingStats;
+import com.example.ecommerce.repository.ProductRatingStatsRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class ProductRatingService {
+    static final int MIN_RATING = 1;
+    static final int MAX_RATING = 5;
+
+    // Relative update, concurrent reviews of the same product serialize on the stats row instead of overwriting each other
+    static final String APPLY_DELTA_SQL = """
+            UPDATE product_rating_stats
+            SET review_count = review_count + ?, rating_sum = rating_sum + ?,
+                stars_1 = stars_1 + ?, stars_2 = stars_2 + ?, stars_3 = stars_3 + ?, stars_4 = stars_4 + ?, stars_5 = stars_5 + ?
+            WHERE product_id = ?""";
+    static final String INSERT_EMPTY_SQL = """
+            INSERT INTO product_rating_stats (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+            VALUES (?, 0, 0, 0, 0, 0, 0, 0)
+            ON CONFLICT DO NOTHING""";
+
+    // Plain JDBC for the atomic col = col + ? deltas, a JPA read-modify-write would race concurrent reviews
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRatingStatsRepository ratingStatsRepository;
+    private final ProductRepository productRepository;
+
+    public ProductRatingService(
+            JdbcTemplate jdbcTemplate,
+            ProductRatingStatsRepository ratingStatsRepository,
+            ProductRepository productRepository
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ratingStatsRepository = ratingStatsRepository;
+        this.productRepository = productRepository;
+    }
+
+    // The stats must commit or roll back with the review write that caused them
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(Long productId, int rating) {
+        long[] stars = new long[MAX_RATING];
+        stars[rating - 1] = 1;
+        applyDelta(productId, 1, rating, stars);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewRemoved(Long productId, int rating) {
+        long[] stars = new long[MAX_RATING];
+        stars[rating - 1] = -1;
+        applyDelta(productId, -1, -rating, stars);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ratingChanged(Long productId, int oldRating, int newRating) {
+        if (oldRating == newRating) {
+            return;
+        }
+        long[] stars = new long[MAX_RATING];
+        stars[oldRating - 1] = -1;
+        stars[newRating - 1] = 1;
+        applyDelta(productId, 0, newRating - oldRating, stars);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductRatingDto getRating(Long productId) {
+        ProductRatingStats stats = ratingStatsRepository.findById(productId).orElseGet(() -> {
+            if (!productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not found");
+            }
+            return new ProductRatingStats(productId, 0, 0, new long[MAX_RATING]);
+        });
+        return convertToDto(stats);
+    }
+
+    public ProductRatingDto convertToDto(ProductRatingStats stats) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            distribution.put(rating, stats.getStars(rating));
+        }
+
+        ProductRatingDto dto = new ProductRatingDto();
+        dto.setProductId(stats.getProductId());
+        dto.setReviewCount(stats.getReviewCount());
+        dto.setAverageRating(stats.getReviewCount() == 0 ? 0 : (double) stats.getRatingSum() / stats.getReviewCount());
+        dto.setDistribution(distribution);
+        return dto;
+    }
+
+    // The first review of a product creates its row, a concurrent creator is absorbed by ON CONFLICT and the retried update
+    private void applyDelta(Long productId, long countDelta, long sumDelta, long[] starDeltas) {
+        if (update(productId, countDelta, sumDelta, starDeltas) == 0) {
+            jdbcTemplate.update(INSERT_EMPTY_SQL, productId);
+            update(productId, countDelta, sumDelta, starDeltas);
+        }
+    }
+
+    private int update(Long productId, long countDelta, long sumDelta, long[] starDeltas) {
+        return jdbcTemplate.update(APPLY_DELTA_SQL, countDelta, sumDelta,
+                starDeltas[0], starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], productId);
+    }
+}
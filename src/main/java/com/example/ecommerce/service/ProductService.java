@@ -1,40 +1,107 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.config.CacheConfig;
+import com.example.ecommerce.dto.MultiGetDto;
 import com.example.ecommerce.dto.ProductDto;
 import com.example.ecommerce.model.Tag;
 import com.example.ecommerce.model.Category;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.projection.ProductTagView;
 import com.example.ecommerce.repository.CategoryRepository;
 import com.example.ecommerce.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
 
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository, EntityManager entityManager) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
     }
 
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    public List<Product> getProductsAfter(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return productRepository.findPageAfter(afterId, Limit.of(pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDto> consumer) {
+        List<Product> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(product -> {
+                batch.add(product);
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    flushStreamBatch(batch, consumer);
+                }
+            });
+        }
+        flushStreamBatch(batch, consumer);
+    }
+
+    private void flushStreamBatch(List<Product> batch, Consumer<ProductDto> consumer) {
+        convertToDtoList(batch).forEach(consumer);
+        // Detach every row once written so the persistence context stays flat
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
+
+    // One findAllById for the products and one batched query for their tags, whatever the number of ids
+    @Transactional(readOnly = true)
+    public MultiGetDto<ProductDto> getProductDtosByIds(List<Long> ids) {
+        List<Long> requestedIds = MultiGetDto.distinctIds(ids);
+        return MultiGetDto.of(requestedIds, convertToDtoList(productRepository.findAllById(requestedIds)), ProductDto::getId);
+    }
+
     public Product getProductById(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
     }
 
+    // sync makes concurrent misses for the same id wait on a single load instead of each hitting the database
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public ProductDto getProductDtoById(Long id) {
+        return convertToDto(getProductById(id));
+    }
+
+    // Unloaded reference for wiring associations, validate the id through getProductDtoById first
+    public Product getProductReference(Long id) {
+        return productRepository.getReferenceById(id);
+    }
+
     public Product createProduct(Product product) {
         return productRepository.save(product);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public Product updateProduct(Long id, Product productDetails) {
         Product product = getProductById(id);
 
@@ -46,21 +113,27 @@ public class ProductService {
         return productRepository.save(product);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
     }
 
     public ProductDto convertToDto(Product product) {
+        return convertToDto(product, product
+                .getTags()
+                .stream()
+                .map(Tag::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    private ProductDto convertToDto(Product product, Set<Long> tagIds) {
         ProductDto productDto = new ProductDto(product.getId());
         productDto.setName(product.getName());
         productDto.setDescription(product.getDescription());
         productDto.setPrice(product.getPrice());
         productDto.setStockQuantity(product.getStockQuantity());
-        productDto.setTagIds(product
-                .getTags()
-                .stream()
-                .map(Tag::getId)
-                .collect(Collectors.toSet()));
+        productDto.setCategoryId(product.getCategoryId());
+        productDto.setTagIds(tagIds);
         return productDto;
     }
 
@@ -81,6 +154,23 @@ public class ProductService {
     }
 
     public List<ProductDto> convertToDtoList(List<Product> products) {
-        return products.stream().map(this::convertToDto).collect(Collectors.toList());
+        Map<Long, Set<Long>> tagIdsByProduct = findTagIdsByProduct(products);
+        return products.stream()
+                .map(product -> convertToDto(product, tagIdsByProduct.getOrDefault(product.getId(), new HashSet<>())))
+                .collect(Collectors.toList());
+    }
+
+    // Resolves the tag ids of every product with one set-based query instead of one lazy load per product
+    private Map<Long, Set<Long>> findTagIdsByProduct(List<Product> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> productIds = products.stream().map(Product::getId).toList();
+        Map<Long, Set<Long>> tagIdsByProduct = new HashMap<>();
+        for (ProductTagView view : productRepository.findTagIdsByProductIds(productIds)) {
+            tagIdsByProduct.computeIfAbsent(view.getProductId(), id -> new HashSet<>()).add(view.getTagId());
+        }
+        return tagIdsByProduct;
     }
 }
\ No newline at end of file
@@ -1,19 +1,46 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
 import com.example.ecommerce.dto.ReviewDto;
+import com.example.ecommerce.event.ReviewEvent;
+import com.example.ecommerce.exception.BadRequestException;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Review;
+import com.example.ecommerce.model.projection.ReviewView;
+import com.example.ecommerce.outbox.OutboxPublisher;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.ProductRepository;
 import com.example.ecommerce.repository.ReviewRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 public class ReviewService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
+    private final ProductRatingService productRatingService;
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final OutboxPublisher outboxPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(
+            ReviewRepository reviewRepository,
+            ProductRatingService productRatingService,
+            ProductRepository productRepository,
+            CustomerRepository customerRepository,
+            OutboxPublisher outboxPublisher
+    ) {
         this.reviewRepository = reviewRepository;
+        this.productRatingService = productRatingService;
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.outboxPublisher = outboxPublisher;
     }
 
     public List<Review> getAllReviews() {
@@ -25,22 +52,97 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
     }
 
+    // Newest first, pass the previous page's nextCursor to continue
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> getReviewsByProduct(Long productId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit pageLimit = pageLimit(limit);
+        List<ReviewView> reviews = after == null
+                ? reviewRepository.findFirstPageByProductId(productId, pageLimit)
+                : reviewRepository.findPageByProductIdBefore(productId, after.timestamp(), after.id(), pageLimit);
+
+        // Only an empty first page needs to tell an unknown product from one without reviews
+        if (reviews.isEmpty() && after == null && !productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+        return toPage(reviews, pageLimit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> getReviewsByCustomer(Long customerId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit pageLimit = pageLimit(limit);
+        List<ReviewView> reviews = after == null
+                ? reviewRepository.findFirstPageByCustomerId(customerId, pageLimit)
+                : reviewRepository.findPageByCustomerIdBefore(customerId, after.timestamp(), after.id(), pageLimit);
+
+        if (reviews.isEmpty() && after == null && !customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+        return toPage(reviews, pageLimit);
+    }
+
+    public ReviewDto convertToDto(ReviewView review) {
+        ReviewDto reviewDto = new ReviewDto();
+        reviewDto.setId(review.getId());
+        reviewDto.setProductId(review.getProductId());
+        reviewDto.setCustomerId(review.getCustomerId());
+        reviewDto.setRating(review.getRating());
+        reviewDto.setComment(review.getComment());
+        reviewDto.setCreatedAt(review.getCreatedAt());
+        return reviewDto;
+    }
+
+    // Review writes go through these methods so the product's rating stats change in the same transaction
+    @Transactional
     public Review createReview(Review review) {
-        return reviewRepository.save(review);
+        validateRating(review.getRating());
+        Review savedReview = reviewRepository.save(review);
+        productRatingService.reviewAdded(savedReview.getProductId(), savedReview.getRating());
+        outboxPublisher.publish(ReviewEvent.AGGREGATE, savedReview.getId(), ReviewEvent.CREATED, ReviewEvent.of(savedReview));
+        return savedReview;
     }
 
+    @Transactional
     public Review updateReview(Long id, ReviewDto updatedReview) {
+        validateRating(updatedReview.getRating());
         Review review = getReviewById(id);
+        int oldRating = review.getRating();
         review.setRating(updatedReview.getRating());
         review.setComment(updatedReview.getComment());
-        return reviewRepository.save(review);
+        Review savedReview = reviewRepository.save(review);
+        productRatingService.ratingChanged(savedReview.getProductId(), oldRating, savedReview.getRating());
+        return savedReview;
     }
 
+    @Transactional
     public void deleteReview(Long id) {
-        reviewRepository.deleteById(id);
+        reviewRepository.findById(id).ifPresent(review -> {
+            reviewRepository.deleteById(id);
+            productRatingService.reviewRemoved(review.getProductId(), review.getRating());
+        });
+    }
+
+    // One row more than the page size is fetched to know whether another page follows
+    private static Limit pageLimit(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)) + 1);
+    }
+
+    private CursorPageDto<ReviewDto> toPage(List<ReviewView> reviews, Limit pageLimit) {
+        int pageSize = pageLimit.max() - 1;
+        List<ReviewView> page = reviews.size() > pageSize ? reviews.subList(0, pageSize) : reviews;
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            ReviewView last = page.getLast();
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(page.stream().map(this::convertToDto).toList(), nextCursor);
     }
 
-    public Review saveReview(Review review) {
-        return reviewRepository.save(review);
+    private static void validateRating(int rating) {
+        if (rating < ProductRatingService.MIN_RATING || rating > ProductRatingService.MAX_RATING) {
+            throw new BadRequestException("Rating must be between 1 and 5");
+        }
     }
-}
\ No newline at end of file
+}
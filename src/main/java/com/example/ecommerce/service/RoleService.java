@@ -1,9 +1,11 @@
 package com.example.ecommerce.service;
 
 import com.example.ecommerce.dto.RoleDto;
+import com.example.ecommerce.event.RolesChangedEvent;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Role;
 import com.example.ecommerce.repository.RoleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,9 +14,11 @@ import java.util.stream.Collectors;
 @Service
 public class RoleService {
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Role> getAllRoles() {
@@ -33,11 +37,14 @@ public class RoleService {
     public Role updateRole(Long id, Role updatedRole) {
         Role role = getRoleById(id);
         role.setName(updatedRole.getName());
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolesChangedEvent(id));
+        return savedRole;
     }
 
     public void deleteRole(Long id) {
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new RolesChangedEvent(id));
     }
 
     public RoleDto convertToDto(Role role) {
@@ -0,0 +1,88 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.analytics.SalesAggregate;
+import com.example.ecommerce.dto.SalesPointDto;
+import com.example.ecommerce.dto.SalesReportDto;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.model.SalesRollup;
+import com.example.ecommerce.repository.SalesRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Sales reports served from the hourly and daily rollups only, a year by day reads at most 366 rows per group
+@Service
+public class SalesAnalyticsService {
+    public static final String GROUP_BY_NONE = "none";
+    public static final Duration MAX_HOURLY_RANGE = Duration.ofDays(92);
+    public static final Duration MAX_DAILY_RANGE = Duration.ofDays(3 * 366);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    public SalesAnalyticsService(SalesRollupRepository salesRollupRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+    }
+
+    // Buckets starting in [from, to), with per-group totals over the whole range
+    @Transactional(readOnly = true)
+    public SalesReportDto getSales(String granularity, Instant from, Instant to, String groupBy) {
+        String bucket = granularity.toLowerCase(Locale.ROOT);
+        String group = groupBy.toLowerCase(Locale.ROOT);
+        Duration maxRange = switch (bucket) {
+            case SalesRollupService.HOUR -> MAX_HOURLY_RANGE;
+            case SalesRollupService.DAY -> MAX_DAILY_RANGE;
+            default -> throw new BadRequestException("granularity must be hour or day");
+        };
+        String dimension = switch (group) {
+            case GROUP_BY_NONE -> SalesRollupService.TOTAL;
+            case SalesRollupService.PRODUCT, SalesRollupService.CATEGORY -> group;
+            default -> throw new BadRequestException("groupBy must be none, product or category");
+        };
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new BadRequestException("A " + bucket + " report covers at most " + maxRange.toDays() + " days");
+        }
+
+        List<SalesRollup> rollups = salesRollupRepository.findBuckets(bucket, dimension, from, to);
+        Map<Long, SalesAggregate> totals = new LinkedHashMap<>();
+        for (SalesRollup rollup : rollups) {
+            totals.computeIfAbsent(rollup.getDimensionId(), id -> new SalesAggregate()).addRollup(rollup);
+        }
+
+        boolean grouped = !GROUP_BY_NONE.equals(group);
+        SalesReportDto report = new SalesReportDto();
+        report.setGranularity(bucket);
+        report.setGroupBy(group);
+        report.setFrom(from);
+        report.setTo(to);
+        report.setPoints(rollups.stream().map(rollup -> {
+            SalesPointDto point = toPoint(new SalesAggregate().addRollup(rollup), grouped ? rollup.getDimensionId() : null);
+            point.setBucketStart(rollup.getBucketStart());
+            return point;
+        }).toList());
+        report.setTotals(totals.entrySet().stream()
+                .map(entry -> toPoint(entry.getValue(), grouped ? entry.getKey() : null))
+                .sorted(Comparator.comparing(SalesPointDto::getRevenue).reversed())
+                .toList());
+        return report;
+    }
+
+    private static SalesPointDto toPoint(SalesAggregate aggregate, Long groupId) {
+        SalesPointDto point = new SalesPointDto();
+        point.setGroupId(groupId);
+        point.setRevenue(aggregate.getRevenue());
+        point.setUnits(aggregate.getUnits());
+        point.setOrders(aggregate.getOrderCount());
+        point.setDistinctCustomers(aggregate.getDistinctCustomers());
+        return point;
+    }
+}
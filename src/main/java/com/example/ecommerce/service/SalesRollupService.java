@@ -0,0 +1,194 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.analytics.SalesAggregate;
+import com.example.ecommerce.model.SalesRollup;
+import com.example.ecommerce.model.SalesRollupDay;
+import com.example.ecommerce.model.projection.SalesLineView;
+import com.example.ecommerce.repository.OrderItemRepository;
+import com.example.ecommerce.repository.SalesRollupDayRepository;
+import com.example.ecommerce.repository.SalesRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maintains the hourly and daily sales rollups. Order and item events only mark the hour the order was placed in;
+// a background refresh rebuilds each marked hour from its order lines, then merges the day's hours into the day.
+// Rebuilding from the rows rather than applying deltas keeps the rollups exact under redelivered events.
+@Service
+public class SalesRollupService {
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+    public static final String TOTAL = "total";
+    public static final long TOTAL_ID = 0L;
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final SalesRollupDayRepository salesRollupDayRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration retryBackoff;
+
+    public SalesRollupService(
+            SalesRollupRepository salesRollupRepository,
+            SalesRollupDayRepository salesRollupDayRepository,
+            OrderItemRepository orderItemRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${analytics.rollup.enabled:true}") boolean enabled,
+            @Value("${analytics.rollup.batch-size:20}") int batchSize,
+            @Value("${analytics.rollup.retry-backoff:1m}") Duration retryBackoff
+    ) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.salesRollupDayRepository = salesRollupDayRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Transactional
+    public void markDirty(Instant orderDate) {
+        Instant dayStart = orderDate.truncatedTo(ChronoUnit.DAYS);
+        int hour = (int) Duration.between(dayStart, orderDate).toHours();
+
+        salesRollupDayRepository.insertIfAbsent(dayStart);
+        SalesRollupDay day = salesRollupDayRepository.findByIdForUpdate(dayStart)
+                .orElseGet(() -> new SalesRollupDay(dayStart));
+        day.setDirtyHours(day.getDirtyHours() | 1 << hour);
+        salesRollupDayRepository.save(day);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.refresh-interval-ms:30000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // A full batch means more days may be waiting
+        while (refreshDirtyDays() == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    // Rebuilds up to batch-size marked days, each in its own transaction. A day whose rebuild fails backs off
+    // and the next one is taken. Returns the number of days attempted.
+    public int refreshDirtyDays() {
+        int attempted = 0;
+        while (attempted < batchSize) {
+            Instant[] claimed = new Instant[1];
+            try {
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> refreshNextDay(claimed)))) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // Nothing was claimed, the failure is not specific to a day
+                if (claimed[0] == null) {
+                    throw e;
+                }
+                recordFailure(claimed[0], e);
+            }
+            attempted++;
+        }
+        return attempted;
+    }
+
+    private boolean refreshNextDay(Instant[] claimed) {
+        Instant now = Instant.now();
+        List<SalesRollupDay> dirty = salesRollupDayRepository.findDirty(now, Limit.of(1));
+        if (dirty.isEmpty()) {
+            return false;
+        }
+
+        SalesRollupDay day = dirty.getFirst();
+        claimed[0] = day.getDayStart();
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            if ((day.getDirtyHours() & 1 << hour) != 0) {
+                rebuildHour(day.getDayStart().plus(hour, ChronoUnit.HOURS));
+            }
+        }
+        rebuildDay(day.getDayStart());
+
+        day.setDirtyHours(0);
+        day.setRefreshedAt(now);
+        day.setFailedAttempts(0);
+        day.setRetryAt(null);
+        day.setLastError(null);
+        return true;
+    }
+
+    // The rebuild rolled back, so the day keeps its dirty hours and is retried after a doubling delay
+    private void recordFailure(Instant dayStart, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> salesRollupDayRepository.findByIdForUpdate(dayStart).ifPresent(day -> {
+            day.setFailedAttempts(day.getFailedAttempts() + 1);
+            int doublings = Math.min(day.getFailedAttempts() - 1, MAX_BACKOFF_DOUBLINGS);
+            day.setRetryAt(Instant.now().plus(retryBackoff.multipliedBy(1L << doublings)));
+            String message = error.toString();
+            day.setLastError(message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH));
+        }));
+        log.warn("sales_rollup_day_failed day={}", dayStart, error);
+    }
+
+    private void rebuildHour(Instant hourStart) {
+        Map<RollupKey, SalesAggregate> aggregates = new HashMap<>();
+        List<SalesLineView> lines = orderItemRepository.findSalesLines(
+                hourStart, hourStart.plus(1, ChronoUnit.HOURS), OrderService.CANCELLED_STATUS);
+        for (SalesLineView line : lines) {
+            List<RollupKey> keys = new ArrayList<>(3);
+            keys.add(new RollupKey(PRODUCT, line.getProductId()));
+            // Uncategorized products still count for themselves and in the total
+            if (line.getCategoryId() != null) {
+                keys.add(new RollupKey(CATEGORY, line.getCategoryId()));
+            }
+            keys.add(new RollupKey(TOTAL, TOTAL_ID));
+            for (RollupKey key : keys) {
+                aggregates.computeIfAbsent(key, k -> new SalesAggregate())
+                        .addLine(line.getOrderId(), line.getCustomerId(), line.getPrice(), line.getQuantity());
+            }
+        }
+        replaceBucket(HOUR, hourStart, aggregates);
+    }
+
+    // The day is the merge of its 24 hourly rollups, the order lines are not read again
+    private void rebuildDay(Instant dayStart) {
+        Map<RollupKey, SalesAggregate> aggregates = new HashMap<>();
+        for (SalesRollup hourly : salesRollupRepository.findAllInBuckets(HOUR, dayStart, dayStart.plus(1, ChronoUnit.DAYS))) {
+            aggregates.computeIfAbsent(new RollupKey(hourly.getDimension(), hourly.getDimensionId()), k -> new SalesAggregate())
+                    .addRollup(hourly);
+        }
+        replaceBucket(DAY, dayStart, aggregates);
+    }
+
+    private void replaceBucket(String granularity, Instant bucketStart, Map<RollupKey, SalesAggregate> aggregates) {
+        salesRollupRepository.deleteBucket(granularity, bucketStart);
+        salesRollupRepository.saveAll(aggregates.entrySet().stream().map(entry -> {
+            SalesRollup rollup = new SalesRollup(granularity, entry.getKey().dimension(), entry.getKey().id(), bucketStart);
+            entry.getValue().writeTo(rollup);
+            return rollup;
+        }).toList());
+    }
+
+    private record RollupKey(String dimension, Long id) {
+    }
+}
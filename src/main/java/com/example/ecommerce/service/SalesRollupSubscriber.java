@@ -0,0 +1,56 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.event.OrderEvent;
+import com.example.ecommerce.event.OrderItemEvent;
+import com.example.ecommerce.outbox.OutboxMessage;
+import com.example.ecommerce.outbox.OutboxSubscriber;
+import com.example.ecommerce.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+
+// Marks the hour of every order whose lines or status changed, SalesRollupService rebuilds it in the background
+@Component
+public class SalesRollupSubscriber implements OutboxSubscriber {
+    private static final Set<String> EVENT_TYPES = Set.of(
+            OrderEvent.CREATED, OrderEvent.STATUS_CHANGED, OrderEvent.DELETED,
+            OrderItemEvent.CREATED, OrderItemEvent.UPDATED, OrderItemEvent.DELETED);
+
+    private final SalesRollupService salesRollupService;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    public SalesRollupSubscriber(SalesRollupService salesRollupService, OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.salesRollupService = salesRollupService;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "sales-rollup";
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return EVENT_TYPES.contains(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        // Order events carry the order date, even for a deleted order; item events have to look it up.
+        // An item whose order is gone is covered by the order's own delete event.
+        Instant orderDate;
+        if (OrderEvent.AGGREGATE.equals(message.aggregateType())) {
+            orderDate = objectMapper.readValue(message.payload(), OrderEvent.class).orderDate();
+        } else {
+            Long orderId = objectMapper.readValue(message.payload(), OrderItemEvent.class).orderId();
+            orderDate = orderId == null ? null : orderRepository.findOrderDateById(orderId).orElse(null);
+        }
+        if (orderDate != null) {
+            salesRollupService.markDirty(orderDate);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.analytics.SpaceSaving;
+import com.example.ecommerce.analytics.TrendingWindow;
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.dto.TrendingProductDto;
+import com.example.ecommerce.event.ProductsSoldEvent;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.model.TrendingSnapshot;
+import com.example.ecommerce.repository.TrendingSnapshotRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Best sellers of the last minutes, kept in memory from the sales this node commits. No query touches order_items;
+// the window is snapshotted to trending_snapshots under this node's id and restored from there on startup.
+// Reads merge in the other nodes' latest snapshots, so the ranking covers the cluster up to one interval behind.
+@Service
+public class TrendingProductsService {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int DEFAULT_WINDOW_MINUTES = 60;
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingProductsService.class);
+    private static final TypeReference<List<TrendingWindow.BucketSnapshot>> SNAPSHOT_TYPE = new TypeReference<>() {
+    };
+
+    private final TrendingWindow window;
+    private final TrendingSnapshotRepository trendingSnapshotRepository;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration bucketWidth;
+    private final int buckets;
+    private final int capacity;
+    private final int maxCategories;
+    private final String nodeId;
+    private final boolean snapshotsEnabled;
+
+    // The other nodes' windows merged together, replaced whole on every sync
+    private volatile TrendingWindow peers;
+
+    public TrendingProductsService(
+            TrendingSnapshotRepository trendingSnapshotRepository,
+            ProductService productService,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${trending.bucket-width:5m}") Duration bucketWidth,
+            @Value("${trending.buckets:24}") int buckets,
+            @Value("${trending.capacity:50}") int capacity,
+            @Value("${trending.max-categories:32}") int maxCategories,
+            @Value("${trending.node-id:${HOSTNAME:local}}") String nodeId,
+            @Value("${trending.snapshot.enabled:true}") boolean snapshotsEnabled
+    ) {
+        this.trendingSnapshotRepository = trendingSnapshotRepository;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.bucketWidth = bucketWidth;
+        this.buckets = buckets;
+        this.capacity = capacity;
+        this.maxCategories = maxCategories;
+        this.nodeId = nodeId;
+        this.snapshotsEnabled = snapshotsEnabled;
+        this.window = newWindow();
+        this.peers = newWindow();
+    }
+
+    // After commit only, a checkout rolled back for missing stock never counts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSold(ProductsSoldEvent event) {
+        Instant now = Instant.now();
+        for (ProductsSoldEvent.Line line : event.lines()) {
+            window.record(event.soldAt(), line.productId(), line.categoryId(), line.quantity(), now);
+        }
+    }
+
+    // Store-wide, or within one category; deleted products are left out
+    public List<TrendingProductDto> getTrending(Long categoryId, int minutes, int limit) {
+        Duration span = Duration.ofMinutes(minutes);
+        if (minutes < 1 || span.compareTo(window.maxWindow()) > 0) {
+            throw new BadRequestException("minutes must be between 1 and " + window.maxWindow().toMinutes());
+        }
+        if (limit < 1 || limit > capacity) {
+            throw new BadRequestException("limit must be between 1 and " + capacity);
+        }
+
+        Instant now = Instant.now();
+        List<SpaceSaving.Counter> top = SpaceSaving.merge(List.of(
+                window.summary(now, span, categoryId),
+                peers.summary(now, span, categoryId)), capacity).top(limit);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        MultiGetDto<ProductDto> products = productService.getProductDtosByIds(top.stream().map(SpaceSaving.Counter::item).toList());
+        Map<Long, ProductDto> byId = products.getItems().stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+
+        return top.stream()
+                .filter(counter -> byId.containsKey(counter.item()))
+                .map(counter -> convertToDto(counter, byId.get(counter.item())))
+                .toList();
+    }
+
+    // Not run right away, the first save would overwrite this node's snapshot before startup restores it
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval-ms:60000}",
+            initialDelayString = "${trending.snapshot-interval-ms:60000}")
+    public void syncSnapshots() {
+        if (!snapshotsEnabled) {
+            return;
+        }
+        saveSnapshot();
+        loadPeerSnapshots();
+    }
+
+    // Rows older than the window hold no bucket a read still covers, which also clears the ones of retired node ids
+    public void saveSnapshot() {
+        if (!snapshotsEnabled) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            String payload = objectMapper.writeValueAsString(window.snapshot());
+            trendingSnapshotRepository.save(new TrendingSnapshot(nodeId, now, payload));
+            transactionTemplate.execute(status -> trendingSnapshotRepository.deleteTakenBefore(now.minus(window.maxWindow())));
+        } catch (Exception e) {
+            log.warn("trending_snapshot_failed node={}", nodeId, e);
+        }
+    }
+
+    public void loadPeerSnapshots() {
+        try {
+            Instant now = Instant.now();
+            TrendingWindow merged = newWindow();
+            for (TrendingSnapshot snapshot : trendingSnapshotRepository.findAllByNodeIdNotAndTakenAtAfter(nodeId, now.minus(window.maxWindow()))) {
+                try {
+                    merged.restore(objectMapper.readValue(snapshot.getPayload(), SNAPSHOT_TYPE), now);
+                } catch (Exception e) {
+                    log.warn("trending_peer_snapshot_failed node={}", snapshot.getNodeId(), e);
+                }
+            }
+            peers = merged;
+        } catch (Exception e) {
+            // Reads keep the previous peer windows until the next sync
+            log.warn("trending_peer_load_failed node={}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void saveFinalSnapshot() {
+        saveSnapshot();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshot() {
+        if (!snapshotsEnabled) {
+            return;
+        }
+        try {
+            Optional<TrendingSnapshot> snapshot = trendingSnapshotRepository.findById(nodeId);
+            if (snapshot.isPresent()) {
+                window.restore(objectMapper.readValue(snapshot.get().getPayload(), SNAPSHOT_TYPE), Instant.now());
+            }
+        } catch (Exception e) {
+            // The window refills from new sales, a lost snapshot only costs the recent history
+            log.warn("trending_restore_failed node={}", nodeId, e);
+        }
+        loadPeerSnapshots();
+    }
+
+    private TrendingWindow newWindow() {
+        return new TrendingWindow(bucketWidth, buckets, capacity, maxCategories);
+    }
+
+    private static TrendingProductDto convertToDto(SpaceSaving.Counter counter, ProductDto product) {
+        TrendingProductDto dto = new TrendingProductDto();
+        dto.setProductId(counter.item());
+        dto.setProductName(product.getName());
+        dto.setCategoryId(product.getCategoryId());
+        dto.setUnitsSold(counter.count());
+        dto.setGuaranteedUnitsSold(counter.guaranteed());
+        return dto;
+    }
+}
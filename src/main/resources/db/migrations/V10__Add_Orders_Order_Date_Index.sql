@@ -0,0 +1,3 @@
+-- Rollup rebuilds read one hour of orders at a time across all customers, which the
+-- (customer_id, order_date) index cannot serve. Built CONCURRENTLY, so this script holds nothing else.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_order_date ON orders (order_date) WHERE order_date IS NOT NULL;
@@ -0,0 +1,6 @@
+-- One row per node: the JSON of its in-memory trending window, rewritten every snapshot interval
+CREATE TABLE trending_snapshots (
+    node_id VARCHAR(100) PRIMARY KEY,
+    taken_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    payload TEXT NOT NULL
+);
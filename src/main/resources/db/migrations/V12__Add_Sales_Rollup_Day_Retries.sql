@@ -0,0 +1,5 @@
+-- A day whose rebuild fails is retried after a growing delay, so it cannot hold up the days after it
+ALTER TABLE sales_rollup_days
+    ADD COLUMN failed_attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN retry_at TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN last_error VARCHAR(1000);
@@ -0,0 +1,43 @@
+-- Hibernate allocates ids from <table>_seq in blocks of 50 (pooled optimizer), so inserts can be batched.
+-- Each sequence starts one block above the current max id; pooled hands out (value - 49 .. value].
+-- The id column defaults move to the same sequence so plain SQL inserts (DB_SEED.sql) never collide with those blocks.
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50 OWNED BY categories.id;
+SELECT setval('categories_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM categories), false);
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_seq');
+
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50 OWNED BY products.id;
+SELECT setval('products_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM products), false);
+ALTER TABLE products ALTER COLUMN id SET DEFAULT nextval('products_seq');
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq INCREMENT BY 50 OWNED BY customers.id;
+SELECT setval('customers_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM customers), false);
+ALTER TABLE customers ALTER COLUMN id SET DEFAULT nextval('customers_seq');
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50 OWNED BY orders.id;
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orders), false);
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_seq');
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50 OWNED BY order_items.id;
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items), false);
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_seq');
+
+CREATE SEQUENCE IF NOT EXISTS shipping_addresses_seq INCREMENT BY 50 OWNED BY shipping_addresses.id;
+SELECT setval('shipping_addresses_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM shipping_addresses), false);
+ALTER TABLE shipping_addresses ALTER COLUMN id SET DEFAULT nextval('shipping_addresses_seq');
+
+CREATE SEQUENCE IF NOT EXISTS payments_seq INCREMENT BY 50 OWNED BY payments.id;
+SELECT setval('payments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM payments), false);
+ALTER TABLE payments ALTER COLUMN id SET DEFAULT nextval('payments_seq');
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50 OWNED BY roles.id;
+SELECT setval('roles_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM roles), false);
+ALTER TABLE roles ALTER COLUMN id SET DEFAULT nextval('roles_seq');
+
+CREATE SEQUENCE IF NOT EXISTS tags_seq INCREMENT BY 50 OWNED BY tags.id;
+SELECT setval('tags_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tags), false);
+ALTER TABLE tags ALTER COLUMN id SET DEFAULT nextval('tags_seq');
+
+CREATE SEQUENCE IF NOT EXISTS reviews_seq INCREMENT BY 50 OWNED BY reviews.id;
+SELECT setval('reviews_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM reviews), false);
+ALTER TABLE reviews ALTER COLUMN id SET DEFAULT nextval('reviews_seq');
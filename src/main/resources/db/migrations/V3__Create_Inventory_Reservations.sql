@@ -0,0 +1,13 @@
+CREATE TABLE inventory_reservations (
+    id BIGINT PRIMARY KEY,
+    order_id INT NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    product_id INT NOT NULL REFERENCES products(id),
+    quantity INT NOT NULL CHECK (quantity > 0),
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE SEQUENCE IF NOT EXISTS inventory_reservations_seq INCREMENT BY 50 OWNED BY inventory_reservations.id;
+
+CREATE INDEX idx_inventory_reservations_order_id ON inventory_reservations (order_id);
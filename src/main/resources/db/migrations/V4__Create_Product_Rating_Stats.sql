@@ -0,0 +1,25 @@
+-- Per-product rating aggregates, maintained by the application on every review write
+CREATE TABLE product_rating_stats (
+    product_id INT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    stars_1 BIGINT NOT NULL DEFAULT 0,
+    stars_2 BIGINT NOT NULL DEFAULT 0,
+    stars_3 BIGINT NOT NULL DEFAULT 0,
+    stars_4 BIGINT NOT NULL DEFAULT 0,
+    stars_5 BIGINT NOT NULL DEFAULT 0
+);
+
+-- Backfill from the reviews written before the table existed
+INSERT INTO product_rating_stats (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT product_id,
+       COUNT(*),
+       SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+WHERE product_id IS NOT NULL
+GROUP BY product_id;
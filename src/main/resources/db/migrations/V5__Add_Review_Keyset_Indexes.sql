@@ -0,0 +1,8 @@
+-- Review pages are keyed on created_at, rows written without one get their insertion-time default
+UPDATE reviews SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE reviews ALTER COLUMN created_at SET NOT NULL;
+
+-- Newest-first keyset pages per product and per customer. id is the tiebreaker for equal timestamps,
+-- it is DESC as well so ORDER BY created_at DESC, id DESC is a plain forward index scan.
+CREATE INDEX idx_reviews_product_created_at ON reviews (product_id, created_at DESC, id DESC);
+CREATE INDEX idx_reviews_customer_created_at ON reviews (customer_id, created_at DESC, id DESC);
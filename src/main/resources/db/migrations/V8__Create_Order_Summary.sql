@@ -0,0 +1,29 @@
+-- Per-order read model for the back-office dashboards, rebuilt by OrderSummarySubscriber from the outbox
+CREATE TABLE order_summary (
+    order_id INT PRIMARY KEY REFERENCES orders(id) ON DELETE CASCADE,
+    customer_id INT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    order_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    total DECIMAL(10, 2) NOT NULL,
+    item_count BIGINT NOT NULL,
+    paid_amount DECIMAL(10, 2) NOT NULL,
+    refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Backfill from the orders written before the table existed, paid means a Completed payment
+INSERT INTO order_summary (order_id, customer_id, status, order_date, total, item_count, paid_amount, refreshed_at)
+SELECT o.id,
+       o.customer_id,
+       o.status,
+       COALESCE(o.order_date, o.created_at, CURRENT_TIMESTAMP),
+       o.total,
+       (SELECT COUNT(*) FROM order_items oi WHERE oi.order_id = o.id),
+       (SELECT COALESCE(SUM(p.amount), 0) FROM payments p WHERE p.order_id = o.id AND p.status = 'Completed'),
+       CURRENT_TIMESTAMP
+FROM orders o
+WHERE o.customer_id IS NOT NULL;
+
+-- One index per dashboard filter, each ending in the newest-first keyset order
+CREATE INDEX idx_order_summary_order_date ON order_summary (order_date DESC, order_id DESC);
+CREATE INDEX idx_order_summary_status_order_date ON order_summary (status, order_date DESC, order_id DESC);
+CREATE INDEX idx_order_summary_customer_order_date ON order_summary (customer_id, order_date DESC, order_id DESC);
@@ -3,7 +3,8 @@ package com.example.ecommerce;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// The cached context would otherwise run the outbox relay and rollup refresh that other test classes drive themselves
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "analytics.rollup.enabled=false", "trending.snapshot.enabled=false"})
 class EcommerceApplicationTests {
 
 	@Test
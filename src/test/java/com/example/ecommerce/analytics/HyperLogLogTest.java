@@ -0,0 +1,70 @@
+package com.example.ecommerce.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_EmptySketch_IsZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimate_RepeatedValues_CountOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(42L);
+        }
+
+        assertEquals(1, sketch.estimate());
+    }
+
+    @Test
+    void estimate_SmallAndLargeCardinalities_StayWithinErrorBound() {
+        // About three standard errors, the hash is fixed so these never flake
+        assertWithin(sketchOf(1, 100).estimate(), 100, 0.1);
+        assertWithin(sketchOf(1, 1_000).estimate(), 1_000, 0.1);
+        assertWithin(sketchOf(1, 100_000).estimate(), 100_000, 0.1);
+    }
+
+    @Test
+    void merge_OverlappingSketches_EstimatesTheUnion() {
+        HyperLogLog first = sketchOf(1, 6_000);
+        HyperLogLog second = sketchOf(4_001, 10_000);
+
+        assertWithin(first.merge(second).estimate(), 10_000, 0.1);
+    }
+
+    @Test
+    void toBytes_SmallSketch_IsSparseAndRoundTrips() {
+        HyperLogLog sketch = sketchOf(1, 20);
+        byte[] bytes = sketch.toBytes();
+
+        assertTrue(bytes.length <= 1 + 2 * 20);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+    }
+
+    @Test
+    void toBytes_LargeSketch_IsDenseAndRoundTrips() {
+        HyperLogLog sketch = sketchOf(1, 50_000);
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(1 + 1024, bytes.length);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+    }
+
+    private static HyperLogLog sketchOf(long fromInclusive, long toInclusive) {
+        HyperLogLog sketch = new HyperLogLog();
+        LongStream.rangeClosed(fromInclusive, toInclusive).forEach(sketch::add);
+        return sketch;
+    }
+
+    private static void assertWithin(long estimate, long actual, double relativeError) {
+        assertTrue(Math.abs(estimate - actual) <= actual * relativeError,
+                "estimate " + estimate + " is not within " + relativeError + " of " + actual);
+    }
+}
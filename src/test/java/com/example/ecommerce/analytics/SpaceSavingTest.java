@@ -0,0 +1,88 @@
+package com.example.ecommerce.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void add_FewerItemsThanCapacity_CountsExactly() {
+        SpaceSaving summary = new SpaceSaving(10);
+        summary.add(1, 3);
+        summary.add(2, 5);
+        summary.add(1, 4);
+
+        assertEquals(List.of(new SpaceSaving.Counter(1, 7, 0), new SpaceSaving.Counter(2, 5, 0)), summary.top(5));
+        assertEquals(12, summary.total());
+    }
+
+    @Test
+    void add_SkewedStream_KeepsHeavyHittersWithinTheirBounds() {
+        SpaceSaving summary = new SpaceSaving(20);
+        Map<Long, Long> actual = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // A handful of best sellers among a long tail of 5000 products
+            long item = random.nextInt(4) == 0 ? random.nextInt(5) : 100 + random.nextInt(5_000);
+            summary.add(item, 1);
+            actual.merge(item, 1L, Long::sum);
+        }
+
+        List<SpaceSaving.Counter> top = summary.top(5);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), top.stream().map(SpaceSaving.Counter::item).sorted().toList());
+        for (SpaceSaving.Counter counter : summary.counters()) {
+            long count = actual.get(counter.item());
+            assertTrue(counter.count() >= count && counter.guaranteed() <= count, counter + " vs " + count);
+        }
+    }
+
+    @Test
+    void merge_DisjointParts_AddsCountsAndKeepsTotal() {
+        SpaceSaving first = new SpaceSaving(3);
+        first.add(1, 10);
+        first.add(2, 4);
+        SpaceSaving second = new SpaceSaving(3);
+        second.add(2, 8);
+        second.add(3, 1);
+
+        SpaceSaving merged = SpaceSaving.merge(List.of(first, second), 3);
+
+        assertEquals(List.of(new SpaceSaving.Counter(2, 12, 0), new SpaceSaving.Counter(1, 10, 0), new SpaceSaving.Counter(3, 1, 0)),
+                merged.top(3));
+        assertEquals(23, merged.total());
+    }
+
+    @Test
+    void merge_FullPartMissingAnItem_ChargesItsSmallestCountAsError() {
+        SpaceSaving full = new SpaceSaving(2);
+        full.add(1, 10);
+        full.add(2, 6);
+        SpaceSaving other = new SpaceSaving(2);
+        other.add(3, 9);
+
+        SpaceSaving.Counter third = SpaceSaving.merge(List.of(full, other), 2).top(1).getFirst();
+
+        // Item 3 may have sold up to 6 in the full part without being kept there
+        assertEquals(new SpaceSaving.Counter(3, 15, 6), third);
+        assertEquals(9, third.guaranteed());
+    }
+
+    @Test
+    void restore_Counters_RoundTrips() {
+        SpaceSaving summary = new SpaceSaving(2);
+        summary.add(1, 5);
+        summary.add(2, 3);
+        summary.add(3, 1);
+
+        SpaceSaving restored = SpaceSaving.restore(2, summary.counters(), summary.total());
+
+        assertEquals(summary.counters(), restored.counters());
+        assertEquals(9, restored.total());
+    }
+}
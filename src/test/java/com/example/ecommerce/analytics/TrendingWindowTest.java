@@ -0,0 +1,92 @@
+package com.example.ecommerce.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingWindowTest {
+    private static final Instant NOON = Instant.parse("2024-03-10T12:00:00Z");
+
+    @Test
+    void top_SalesAcrossBuckets_AreSummedWithinTheWindow() {
+        TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        window.record(NOON.minusSeconds(50 * 60), 1, 7L, 9, NOON);
+        window.record(NOON.minusSeconds(20 * 60), 2, 7L, 4, NOON);
+        window.record(NOON.minusSeconds(60), 2, 7L, 3, NOON);
+        window.record(NOON.minusSeconds(60), 3, 8L, 5, NOON);
+
+        assertEquals(List.of(1L, 2L, 3L), items(window.top(NOON, Duration.ofHours(1), null, 10)));
+        assertEquals(List.of(2L, 3L), items(window.top(NOON, Duration.ofMinutes(30), null, 10)));
+        assertEquals(7, window.top(NOON, Duration.ofMinutes(30), null, 1).getFirst().count());
+    }
+
+    @Test
+    void top_ByCategory_OnlyCountsThatCategory() {
+        TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        window.record(NOON, 1, 7L, 9, NOON);
+        window.record(NOON, 2, 8L, 4, NOON);
+        window.record(NOON, 3, null, 20, NOON);
+
+        assertEquals(List.of(2L), items(window.top(NOON, Duration.ofMinutes(5), 8L, 10)));
+        assertEquals(List.of(3L, 1L, 2L), items(window.top(NOON, Duration.ofMinutes(5), null, 10)));
+        assertTrue(window.top(NOON, Duration.ofMinutes(5), 99L, 10).isEmpty());
+    }
+
+    @Test
+    void record_OlderThanTheWindow_IsDroppedAndOldBucketsExpire() {
+        TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        window.record(NOON, 1, 7L, 9, NOON);
+        Instant later = NOON.plus(Duration.ofHours(2));
+        window.record(later, 2, 7L, 1, later);
+        window.record(NOON, 3, 7L, 5, later);
+
+        assertEquals(List.of(2L), items(window.top(later, Duration.ofHours(1), null, 10)));
+    }
+
+    @Test
+    void record_TooManyCategories_EvictsTheSmallest() {
+        TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 2);
+        window.record(NOON, 1, 7L, 9, NOON);
+        window.record(NOON, 2, 8L, 1, NOON);
+        window.record(NOON, 3, 9L, 4, NOON);
+
+        assertTrue(window.top(NOON, Duration.ofMinutes(5), 8L, 10).isEmpty());
+        assertEquals(List.of(1L), items(window.top(NOON, Duration.ofMinutes(5), 7L, 10)));
+        assertEquals(List.of(3L), items(window.top(NOON, Duration.ofMinutes(5), 9L, 10)));
+    }
+
+    @Test
+    void restore_Snapshot_MergesIntoLiveBucketsAndSkipsExpiredOnes() {
+        TrendingWindow before = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        before.record(NOON.minusSeconds(65 * 60), 4, 7L, 50, NOON);
+        before.record(NOON.minusSeconds(10 * 60), 1, 7L, 6, NOON);
+        before.record(NOON, 2, 8L, 2, NOON);
+
+        TrendingWindow after = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        after.record(NOON, 2, 8L, 3, NOON);
+        after.restore(before.snapshot(), NOON);
+
+        assertEquals(List.of(1L, 2L), items(after.top(NOON, Duration.ofHours(1), null, 10)));
+        assertEquals(5, after.top(NOON, Duration.ofMinutes(5), 8L, 1).getFirst().count());
+    }
+
+    @Test
+    void record_DatedInTheFuture_IsDroppedAndKeepsTheLiveBuckets() {
+        TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), 12, 10, 4);
+        window.record(NOON, 1, 7L, 9, NOON);
+        // Lands on NOON's slot: recording it would have recycled that bucket
+        window.record(NOON.plus(Duration.ofHours(1)), 2, 7L, 50, NOON);
+        window.record(NOON.plusSeconds(60), 3, 7L, 4, NOON);
+
+        assertEquals(List.of(1L, 3L), items(window.top(NOON, Duration.ofHours(1), null, 10)));
+        assertTrue(window.top(NOON.plus(Duration.ofHours(1)), Duration.ofMinutes(5), null, 10).isEmpty());
+    }
+
+    private static List<Long> items(List<SpaceSaving.Counter> counters) {
+        return counters.stream().map(SpaceSaving.Counter::item).toList();
+    }
+}
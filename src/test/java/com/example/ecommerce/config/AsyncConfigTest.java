@@ -0,0 +1,44 @@
+package com.example.ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.Async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withBean(AsyncWork.class);
+
+    @Test
+    void async_VirtualThreadsEnabled_RunsOnAVirtualThread() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Thread thread = context.getBean(AsyncWork.class).currentThread().get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("async-"));
+        });
+    }
+
+    @Test
+    void async_VirtualThreadsDisabled_RunsOnBootsPlatformPool() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false").run(context -> {
+            Thread thread = context.getBean(AsyncWork.class).currentThread().get(5, TimeUnit.SECONDS);
+            assertFalse(thread.isVirtual());
+            assertNotSame(Thread.currentThread(), thread);
+        });
+    }
+
+    static class AsyncWork {
+        @Async
+        public CompletableFuture<Thread> currentThread() {
+            return CompletableFuture.completedFuture(Thread.currentThread());
+        }
+    }
+}
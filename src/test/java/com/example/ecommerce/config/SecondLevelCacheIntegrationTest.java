@@ -0,0 +1,143 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Role;
+import com.example.ecommerce.observability.QueryCounter;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: READ_WRITE regions are only populated once the writing transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+    private Role role;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        category = new Category();
+        category.setName("Cached");
+        category = categoryRepository.save(category);
+
+        role = new Role();
+        role.setName("ROLE_CACHED");
+        role = roleRepository.save(role);
+
+        customer = new Customer();
+        customer.setUsername("cached.customer");
+        customer.setFullName("Cached Customer");
+        customer.setEmail("cached.customer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000002");
+        customer.setRoles(Set.of(role));
+        customer = customerRepository.save(customer);
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteById(customer.getId());
+        roleRepository.deleteById(role.getId());
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void findById_CachedCategory_IssuesNoStatements() {
+        QueryCounter.start();
+        try {
+            Category found = categoryRepository.findById(category.getId()).orElseThrow();
+
+            assertEquals("Cached", found.getName());
+            assertEquals(0, QueryCounter.current());
+            assertEquals(1, statistics.getDomainDataRegionStatistics("categories").getHitCount());
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    @Test
+    void findById_AfterUpdate_ReturnsNewValue() {
+        category.setName("Renamed");
+        categoryRepository.save(category);
+
+        assertEquals("Renamed", categoryRepository.findById(category.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void findAll_Repeated_IsServedFromQueryCache() {
+        categoryRepository.findAll();
+
+        QueryCounter.start();
+        try {
+            assertTrue(categoryRepository.findAll().stream().anyMatch(c -> c.getId() == category.getId()));
+            assertEquals(0, QueryCounter.current());
+            assertEquals(1, statistics.getQueryCacheHitCount());
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    @Test
+    void findAll_AfterInsert_IsInvalidated() {
+        categoryRepository.findAll();
+
+        Category added = new Category();
+        added.setName("Added");
+        added = categoryRepository.save(added);
+        try {
+            long addedId = added.getId();
+            assertTrue(categoryRepository.findAll().stream().anyMatch(c -> c.getId() == addedId));
+        } finally {
+            categoryRepository.deleteById(added.getId());
+        }
+    }
+
+    @Test
+    void findByUsername_SecondLoad_ReadsRolesFromCache() {
+        customerRepository.findByUsername("cached.customer").orElseThrow();
+
+        QueryCounter.start();
+        try {
+            Customer reloaded = customerRepository.findByUsername("cached.customer").orElseThrow();
+
+            assertEquals(Set.of("ROLE_CACHED"), Set.copyOf(reloaded.getRoles().stream().map(Role::getName).toList()));
+            // Only the customer row itself, the role ids and the roles come from their regions
+            assertEquals(1, QueryCounter.current());
+            assertEquals(1, statistics.getDomainDataRegionStatistics("customer-roles").getHitCount());
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.repository.TagRepository;
+import com.example.ecommerce.service.JwtService;
+import com.example.ecommerce.service.TagService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+    private static final String JWT_SECRET_KEY = "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TagService(tagRepository));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        tagService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void publicServiceMethod_IsTimedWithClassAndMethodTags() {
+        when(tagRepository.findAll()).thenReturn(List.of());
+
+        tagService.getAllTags();
+        tagService.getAllTags();
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("class", "TagService")
+                .tag("method", "getAllTags")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void failingServiceMethod_IsTimedWithExceptionTag() {
+        when(tagRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> tagService.getTagById(1L));
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("method", "getTagById")
+                .tag("outcome", "error")
+                .tag("exception", "ResourceNotFoundException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void repeatedFailures_ReuseOneTimerPerExceptionType() {
+        when(tagRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> tagService.getTagById(1L));
+        assertThrows(ResourceNotFoundException.class, () -> tagService.getTagById(1L));
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("method", "getTagById")
+                .tag("outcome", "error")
+                .timer();
+        assertEquals(2, timer.count());
+        // The method's success timer and one timer for the exception type
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.METRIC_NAME).timers().size());
+    }
+
+    @Test
+    void jwtService_IsNotTimed() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new JwtService(JWT_SECRET_KEY, 60_000, 100, new SimpleMeterRegistry()));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        JwtService jwtService = proxyFactory.getProxy();
+
+        jwtService.getExpirationTime();
+
+        assertNull(meterRegistry.find(ServiceMetricsAspect.METRIC_NAME).timer());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CheckoutDto;
+import com.example.ecommerce.dto.CheckoutItemDto;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.CheckoutService;
+import com.example.ecommerce.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every buyer commits its own checkout, the data is removed afterwards
+@SpringBootTest
+@ActiveProfiles("test")
+class CheckoutConcurrencyIntegrationTest {
+    private static final int STOCK = 20;
+    private static final int BUYERS = 100;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Category category;
+    private Product product;
+    private Product soldOut;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("concurrent.buyer");
+        customer.setFullName("Concurrent Buyer");
+        customer.setEmail("concurrent.buyer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000001");
+        customer = customerRepository.save(customer);
+
+        category = new Category();
+        category.setName("Concurrency");
+        category = categoryRepository.save(category);
+
+        product = productRepository.save(product("Limited Edition", STOCK));
+        soldOut = productRepository.save(product("Limited Edition Case", 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByCustomer_Id(customer.getId()));
+        productRepository.deleteById(product.getId());
+        productRepository.deleteById(soldOut.getId());
+        categoryRepository.deleteById(category.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void checkout_ManyBuyersOfSameProduct_NeverOversells() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try {
+            Callable<Boolean> buyer = () -> {
+                start.await();
+                try {
+                    checkoutService.checkout(checkout());
+                    return true;
+                } catch (InsufficientStockException e) {
+                    return false;
+                }
+            };
+            for (int i = 0; i < BUYERS; i++) {
+                results.add(executor.submit(buyer));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+
+            assertEquals(STOCK, succeeded);
+            assertEquals(0, stock());
+            assertEquals(STOCK, orderRepository.findByCustomer_Id(customer.getId()).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkout_OneLineShort_RollsBackTheOtherLines() {
+        CheckoutDto checkoutDto = checkout();
+        checkoutDto.setItems(List.of(new CheckoutItemDto(product.getId(), 2), new CheckoutItemDto(soldOut.getId(), 1)));
+
+        assertThrows(InsufficientStockException.class, () -> checkoutService.checkout(checkoutDto));
+
+        assertEquals(STOCK, stock());
+        assertTrue(orderRepository.findByCustomer_Id(customer.getId()).isEmpty());
+    }
+
+    @Test
+    void cancelOrder_ReleasesReservedStockOnce() {
+        Long orderId = checkoutService.checkout(checkout()).getOrderId();
+        assertEquals(STOCK - 1, stock());
+
+        orderService.updateOrderStatus(orderId, OrderService.CANCELLED_STATUS);
+        orderService.updateOrderStatus(orderId, OrderService.CANCELLED_STATUS);
+
+        assertEquals(STOCK, stock());
+        Order order = orderService.findOrderById(orderId).orElseThrow();
+        assertEquals(OrderService.CANCELLED_STATUS, order.getStatus());
+    }
+
+    private CheckoutDto checkout() {
+        CheckoutDto checkoutDto = new CheckoutDto();
+        checkoutDto.setCustomerId(customer.getId());
+        checkoutDto.setPaymentMethod("Card");
+        checkoutDto.setItems(List.of(new CheckoutItemDto(product.getId(), 1)));
+        return checkoutDto;
+    }
+
+    private Product product(String name, int stock) {
+        Product newProduct = new Product();
+        newProduct.setName(name);
+        newProduct.setDescription(name);
+        newProduct.setPrice(BigDecimal.TEN);
+        newProduct.setStockQuantity(stock);
+        newProduct.setCategory(category);
+        return newProduct;
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
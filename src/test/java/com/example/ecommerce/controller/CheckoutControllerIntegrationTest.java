@@ -0,0 +1,160 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderItemRepository;
+import com.example.ecommerce.repository.PaymentRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Rollback
+@ActiveProfiles("test")
+class CheckoutControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Customer customer;
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("checkout.user");
+        customer.setFullName("Checkout User");
+        customer.setEmail("checkout.user@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000000");
+        customerRepository.save(customer);
+
+        Category category = new Category();
+        category.setName("Checkout Accessories");
+        categoryRepository.save(category);
+
+        keyboard = productRepository.save(product("Checkout Keyboard", "45.00", category));
+        mouse = productRepository.save(product("Checkout Mouse", "12.50", category));
+        productRepository.flush();
+    }
+
+    @Test
+    void checkout_CreatesOrderItemsAndPayment() throws Exception {
+        String body = """
+                {"customerId": %d, "paymentMethod": "Card",
+                 "items": [{"productId": %d, "quantity": 2}, {"productId": %d, "quantity": 1}]}
+                """.formatted(customer.getId(), keyboard.getId(), mouse.getId());
+
+        String response = mockMvc.perform(post("/api/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total").value(102.50))
+                .andExpect(jsonPath("$.status").value("Pending"))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.payment.amount").value(102.50))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode result = objectMapper.readTree(response);
+        long orderId = result.get("orderId").asLong();
+        assertEquals(2, orderItemRepository.findAllByOrder_Id(orderId).size());
+        assertEquals(1, paymentRepository.findAllByOrder_Id(orderId).size());
+        assertEquals(8, stockOf(keyboard));
+        assertEquals(9, stockOf(mouse));
+    }
+
+    @Test
+    void checkout_InsufficientStock_ReturnsConflict() throws Exception {
+        String body = """
+                {"customerId": %d, "paymentMethod": "Card",
+                 "items": [{"productId": %d, "quantity": 1}, {"productId": %d, "quantity": 11}]}
+                """.formatted(customer.getId(), keyboard.getId(), mouse.getId());
+
+        mockMvc.perform(post("/api/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void checkout_UnknownProduct_ReturnsNotFound() throws Exception {
+        String body = """
+                {"customerId": %d, "paymentMethod": "Card", "items": [{"productId": %d, "quantity": 1}]}
+                """.formatted(customer.getId(), Long.MAX_VALUE);
+
+        mockMvc.perform(post("/api/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void checkout_EmptyCart_ReturnsBadRequest() throws Exception {
+        String body = """
+                {"customerId": %d, "paymentMethod": "Card", "items": []}
+                """.formatted(customer.getId());
+
+        mockMvc.perform(post("/api/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Stock is changed with plain SQL, so read it back the same way instead of from the persistence context
+    private int stockOf(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private static Product product(String name, String price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(name);
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(10);
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.OrderHistoryEntryDto;
 import com.example.ecommerce.model.Customer;
 import com.example.ecommerce.model.Order;
 import com.example.ecommerce.service.CustomerService;
@@ -20,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -81,17 +84,26 @@ public class OrderControllerIntegrationTest {
         assertThat(orderCaptor.getValue().getCustomer().getId()).isEqualTo(33L);
     }
 
-/*    @Test
+    @Test
     public void testGetOrdersByCustomer() throws Exception {
-        when(customerService.findById(33L)).thenReturn(mockCustomer);
-        when(orderService.findAllOrdersBasedOnCustomer(46L)).thenReturn(Collections.singletonList(mockOrder));
-
-        mockMvc.perform(get("/api/orders/customer/{customerId}", 33L))
+        OrderHistoryEntryDto entry = new OrderHistoryEntryDto();
+        entry.setId(46L);
+        entry.setStatus("Pending");
+        entry.setTotal(BigDecimal.valueOf(100));
+        entry.setItemCount(3);
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        when(orderService.getOrderHistory(33L, from, null, null, 10))
+                .thenReturn(new CursorPageDto<>(List.of(entry), null));
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", 33L)
+                        .param("from", "2024-01-01T00:00:00Z")
+                        .param("limit", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(46L))
-                .andExpect(jsonPath("$[0].status").value("Pending"))
-                .andExpect(jsonPath("$[0].total").value(100.0));
-    }*/
+                .andExpect(jsonPath("$.items[0].id").value(46L))
+                .andExpect(jsonPath("$.items[0].status").value("Pending"))
+                .andExpect(jsonPath("$.items[0].itemCount").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
 
     @Test
     public void testGetOrderById() throws Exception {
@@ -0,0 +1,142 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.observability.QueryCounter;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.OrderItemService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Rollback
+@ActiveProfiles("test")
+class OrderItemControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("items.customer");
+        customer.setFullName("Items Customer");
+        customer.setEmail("items.customer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000004");
+        customer = customerRepository.save(customer);
+
+        Category category = new Category();
+        category.setName("Items");
+        categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("Items Product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void getOrderItemsByOrderId_ReturnsItemsWithProductName() throws Exception {
+        Order order = saveOrder(2);
+
+        mockMvc.perform(get("/api/order-items/order/{orderId}", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].orderId", is((int) order.getId())))
+                .andExpect(jsonPath("$[0].productId", is((int) product.getId())))
+                .andExpect(jsonPath("$[0].productName", is("Items Product")));
+    }
+
+    @Test
+    void getOrderItemById_UnknownId_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/order-items/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void orderItemReads_QueryCountDoesNotGrowWithItems() {
+        Order small = saveOrder(1);
+        Order large = saveOrder(25);
+
+        assertEquals(1, statementsFor(() -> orderItemService.getOrderItemDtosByOrderId(small.getId())));
+        assertEquals(1, statementsFor(() -> orderItemService.getOrderItemDtosByOrderId(large.getId())));
+        assertEquals(1, statementsFor(() -> orderItemService.getOrderItemDtosByProductId(product.getId())));
+        assertEquals(1, statementsFor(() -> orderItemService.getOrderItemDtosWithQuantityGreaterThan(0)));
+    }
+
+    private int statementsFor(Runnable read) {
+        entityManager.clear();
+        QueryCounter.start();
+        try {
+            read.run();
+            return QueryCounter.current();
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    private Order saveOrder(int itemCount) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus("Pending");
+        order.setTotal(BigDecimal.TEN);
+        order.setOrderDate(Instant.now());
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setPrice(BigDecimal.TEN);
+            order.addOrderItem(item);
+        }
+        return orderRepository.saveAndFlush(order);
+    }
+}
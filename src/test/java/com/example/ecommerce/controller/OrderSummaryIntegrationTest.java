@@ -0,0 +1,225 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.OrderSummary;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.outbox.OutboxRelay;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderSummaryRepository;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import com.example.ecommerce.repository.PaymentRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.OrderItemService;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.OrderSummaryService;
+import com.example.ecommerce.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the summary is only written once the relay delivers the committed events
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderSummaryIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Customer customer;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+
+        customer = new Customer();
+        customer.setUsername("summary.customer");
+        customer.setFullName("Summary Customer");
+        customer.setEmail("summary.customer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000005");
+        customer = customerRepository.save(customer);
+
+        category = new Category();
+        category.setName("Summaries");
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("Summary Product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Order order : orderRepository.findByCustomer_Id(customer.getId())) {
+            paymentRepository.deleteAll(paymentRepository.findAllByOrder_Id(order.getId()));
+            orderSummaryRepository.deleteById(order.getId());
+            orderRepository.delete(order);
+        }
+        outboxEventRepository.deleteAll();
+        productRepository.deleteById(product.getId());
+        categoryRepository.deleteById(category.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void relayedEvents_KeepSummaryInStepWithOrderItemsAndPayments() throws Exception {
+        Order order = orderService.createOrder(order());
+        addItem(order, 2);
+        addItem(order, 1);
+        paymentService.createPayment(payment(order, "Completed", "30.00"));
+        paymentService.createPayment(payment(order, "Pending", "5.00"));
+
+        // Nothing is written until the relay delivers the events
+        assertTrue(orderSummaryRepository.findById(order.getId()).isEmpty());
+        drainOutbox();
+
+        OrderSummary summary = orderSummaryRepository.findById(order.getId()).orElseThrow();
+        assertEquals(2, summary.getItemCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(summary.getPaidAmount()));
+
+        mockMvc.perform(get("/api/order-summaries")
+                        .param("status", "Pending")
+                        .param("customerId", String.valueOf(customer.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].orderId", is((int) order.getId())))
+                .andExpect(jsonPath("$.items[0].itemCount", is(2)))
+                .andExpect(jsonPath("$.items[0].outstandingAmount", is(20.0)));
+
+        orderService.updateOrderStatus(order.getId(), "Shipped");
+        drainOutbox();
+
+        mockMvc.perform(get("/api/order-summaries/{orderId}", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("Shipped")));
+        mockMvc.perform(get("/api/order-summaries")
+                        .param("status", "Pending")
+                        .param("customerId", String.valueOf(customer.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void redeliveredEvents_DoNotDoubleCount() {
+        Order order = orderService.createOrder(order());
+        addItem(order, 1);
+        drainOutbox();
+
+        // Refreshing again, as a redelivery would, leaves the row as it was
+        orderSummaryService.refresh(order.getId());
+        orderSummaryService.refresh(order.getId());
+
+        assertEquals(1, orderSummaryRepository.findById(order.getId()).orElseThrow().getItemCount());
+    }
+
+    @Test
+    void getOrderSummary_UnknownOrder_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/order-summaries/{orderId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private void drainOutbox() {
+        int relayed;
+        do {
+            relayed = outboxRelay.relayBatch();
+        } while (relayed > 0);
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus("Pending");
+        order.setTotal(new BigDecimal("50.00"));
+        order.setOrderDate(Instant.now());
+        return order;
+    }
+
+    // The item cascades to its order, which has to be managed when the item is saved
+    private void addItem(Order order, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order managed = orderRepository.findById(order.getId()).orElseThrow();
+            OrderItem item = new OrderItem();
+            item.setOrder(managed);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            item.setPrice(BigDecimal.TEN);
+            orderItemService.createOrderItem(item, product.getCategoryId(), managed.getOrderDate());
+        });
+    }
+
+    private Payment payment(Order order, String status, String amount) {
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setStatus(status);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setPaymentMethod("Card");
+        payment.setPaymentDate(Instant.now());
+        return payment;
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.ecommerce.controller;
 
 import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.model.Tag;
+import com.example.ecommerce.observability.QueryCounter;
+import com.example.ecommerce.repository.TagRepository;
+import com.example.ecommerce.service.ProductService;
+import jakarta.persistence.EntityManager;
 import com.example.ecommerce.model.Category;
 import com.example.ecommerce.model.Product;
 import com.example.ecommerce.repository.CategoryRepository;
@@ -15,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -22,7 +28,9 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +51,15 @@ class ProductControllerIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -82,6 +99,36 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].name", is("Product 2a")));
     }
 
+    @Test
+    void getAllProducts_AfterCursor_ReturnsNextPage() throws Exception {
+        Category category = new Category();
+        category.setName("Electronics");
+        categoryRepository.save(category);
+
+        Product product1 = new Product();
+        product1.setName("Product 1b");
+        product1.setDescription("Description 1b");
+        product1.setPrice(BigDecimal.valueOf(10.99));
+        product1.setStockQuantity(100);
+        product1.setCategory(category);
+
+        Product product2 = new Product();
+        product2.setName("Product 2b");
+        product2.setDescription("Description 2b");
+        product2.setPrice(BigDecimal.valueOf(20.99));
+        product2.setStockQuantity(50);
+        product2.setCategory(category);
+
+        productRepository.saveAll(List.of(product1, product2));
+
+        mockMvc.perform(get("/api/products")
+                        .param("after", String.valueOf(product1.getId()))
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Product 2b")));
+    }
+
     @Test
     void getProductById_ReturnsProduct() throws Exception {
         var timestamp = System.currentTimeMillis();
@@ -179,4 +226,74 @@ class ProductControllerIntegrationTest {
         mockMvc.perform(get("/api/products/999"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void getProductsByIds_ReturnsRequestOrderAndMissingIds() throws Exception {
+        List<Product> products = saveTaggedProducts(2);
+        long first = products.get(0).getId();
+        long second = products.get(1).getId();
+
+        mockMvc.perform(get("/api/products").param("ids", second + "," + Long.MAX_VALUE + "," + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is((int) second)))
+                .andExpect(jsonPath("$.items[1].id", is((int) first)))
+                .andExpect(jsonPath("$.items[0].tagIds", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds", contains(Long.MAX_VALUE)));
+    }
+
+    // The test profile's strict query budget buffers the body, it must still be released after the async dispatch
+    @Test
+    void streamAllProducts_StrictQueryBudget_ReleasesTheStreamedBody() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/products/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getProductDtosByIds_QueryCountDoesNotGrowWithIds() {
+        List<Long> fewIds = saveTaggedProducts(2).stream().map(Product::getId).toList();
+        List<Long> manyIds = saveTaggedProducts(20).stream().map(Product::getId).toList();
+
+        assertEquals(statementsFor(fewIds), statementsFor(manyIds));
+    }
+
+    private int statementsFor(List<Long> ids) {
+        entityManager.clear();
+        QueryCounter.start();
+        try {
+            assertEquals(ids.size(), productService.getProductDtosByIds(ids).getItems().size());
+            return QueryCounter.current();
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    private List<Product> saveTaggedProducts(int count) {
+        Category category = new Category();
+        category.setName("Bulk " + count);
+        categoryRepository.save(category);
+
+        Tag tag = new Tag();
+        tag.setName("bulk-" + count);
+        tagRepository.save(tag);
+
+        List<Product> products = new java.util.ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Bulk " + count + "-" + i);
+            product.setPrice(BigDecimal.ONE);
+            product.setStockQuantity(1);
+            product.setCategory(category);
+            product.setTags(Set.of(tag));
+            products.add(product);
+        }
+        List<Product> saved = productRepository.saveAll(products);
+        productRepository.flush();
+        return saved;
+    }
 }
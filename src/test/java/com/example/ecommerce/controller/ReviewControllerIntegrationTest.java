@@ -8,6 +8,8 @@ import com.example.ecommerce.repository.CategoryRepository;
 import com.example.ecommerce.repository.CustomerRepository;
 import com.example.ecommerce.repository.ProductRepository;
 import com.example.ecommerce.repository.ReviewRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -48,6 +51,9 @@ class ReviewControllerIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Customer customer;
     private Product product;
 
@@ -181,4 +187,128 @@ class ReviewControllerIntegrationTest {
         mockMvc.perform(get("/api/reviews/{id}", savedReview.getId()))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void reviewWrites_KeepProductRatingInStep() throws Exception {
+        postReview(5);
+        long reviewId = postReview(2);
+
+        mockMvc.perform(put("/api/reviews/{id}", reviewId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reviewJson(4)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/{id}/rating", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(2)))
+                .andExpect(jsonPath("$.averageRating", is(4.5)))
+                .andExpect(jsonPath("$.distribution.2", is(0)))
+                .andExpect(jsonPath("$.distribution.4", is(1)))
+                .andExpect(jsonPath("$.distribution.5", is(1)));
+
+        mockMvc.perform(delete("/api/reviews/{id}", reviewId))
+                .andExpect(status().isNoContent());
+        // Requests share the test transaction, drop the stats loaded by the previous read like a new request would
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/products/{id}/rating", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(5.0)))
+                .andExpect(jsonPath("$.distribution.4", is(0)));
+    }
+
+    @Test
+    void getProductRating_NoReviews_ReturnsEmptyRating() throws Exception {
+        mockMvc.perform(get("/api/products/{id}/rating", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(0)))
+                .andExpect(jsonPath("$.averageRating", is(0.0)));
+    }
+
+    @Test
+    void createReview_RatingOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reviewJson(0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductReviews_PagesNewestFirstWithCursor() throws Exception {
+        Instant createdAt = Instant.parse("2024-05-01T10:00:00Z");
+        Review oldest = saveReview("Oldest", createdAt.minusSeconds(60));
+        Review first = saveReview("Same time, lower id", createdAt);
+        Review second = saveReview("Same time, higher id", createdAt);
+
+        String response = mockMvc.perform(get("/api/products/{id}/reviews", product.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.items[1].id", is(first.getId().intValue())))
+                .andExpect(jsonPath("$.items[0].productId", is((int) product.getId())))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/products/{id}/reviews", product.getId())
+                        .param("limit", "2")
+                        .param("cursor", JsonPath.<String>read(response, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(oldest.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void getCustomerReviews_ReturnsCustomersReviews() throws Exception {
+        saveReview("Mine", Instant.parse("2024-05-01T10:00:00Z"));
+
+        mockMvc.perform(get("/api/customers/{id}/reviews", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].comment", is("Mine")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void getProductReviews_UnknownProduct_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/products/{id}/reviews", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getProductReviews_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/{id}/reviews", product.getId()).param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Review saveReview(String comment, Instant createdAt) {
+        Review review = new Review();
+        review.setComment(comment);
+        review.setRating(4);
+        review.setCustomer(customer);
+        review.setProduct(product);
+        review.setCreatedAt(createdAt);
+        return reviewRepository.save(review);
+    }
+
+    private long postReview(int rating) throws Exception {
+        String response = mockMvc.perform(post("/api/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reviewJson(rating)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(response, "$.id").longValue();
+    }
+
+    private String reviewJson(int rating) {
+        return String.format("""
+                {
+                    "comment": "Rated %d",
+                    "rating": %d,
+                    "customerId": %d,
+                    "productId": %d
+                }
+                """, rating, rating, customer.getId(), product.getId());
+    }
 }
@@ -0,0 +1,256 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.outbox.OutboxRelay;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderSummaryRepository;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.SalesRollupDayRepository;
+import com.example.ecommerce.repository.SalesRollupRepository;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.SalesRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: rollups are only rebuilt from committed orders, after the relay has marked their hours
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SalesAnalyticsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesRollupDayRepository salesRollupDayRepository;
+
+    private Customer alice;
+    private Customer bob;
+    private Category books;
+    private Category games;
+    private Product book;
+    private Product game;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        salesRollupRepository.deleteAll();
+        salesRollupDayRepository.deleteAll();
+
+        alice = customerRepository.save(customer("alice", "0700000006"));
+        bob = customerRepository.save(customer("bob", "0700000007"));
+        books = categoryRepository.save(category("Analytics Books"));
+        games = categoryRepository.save(category("Analytics Games"));
+        book = productRepository.save(product("Analytics Book", "10.00", books));
+        game = productRepository.save(product("Analytics Game", "5.00", games));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Customer customer : List.of(alice, bob)) {
+            for (Order order : orderRepository.findByCustomer_Id(customer.getId())) {
+                orderSummaryRepository.deleteById(order.getId());
+                orderRepository.delete(order);
+            }
+        }
+        outboxEventRepository.deleteAll();
+        salesRollupRepository.deleteAll();
+        salesRollupDayRepository.deleteAll();
+        productRepository.deleteAll(List.of(book, game));
+        categoryRepository.deleteAll(List.of(books, games));
+        customerRepository.deleteAll(List.of(alice, bob));
+    }
+
+    @Test
+    void getSales_HourlyTotals_ComeFromRebuiltRollups() throws Exception {
+        placeOrders();
+
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("granularity", "hour")
+                        .param("from", "2024-03-10T00:00:00Z")
+                        .param("to", "2024-03-11T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points", hasSize(2)))
+                .andExpect(jsonPath("$.points[0].bucketStart", is("2024-03-10T10:00:00Z")))
+                .andExpect(jsonPath("$.points[0].revenue", is(35.0)))
+                .andExpect(jsonPath("$.points[0].orders", is(2)))
+                .andExpect(jsonPath("$.points[0].distinctCustomers", is(2)))
+                .andExpect(jsonPath("$.points[1].bucketStart", is("2024-03-10T14:00:00Z")))
+                .andExpect(jsonPath("$.points[1].units", is(4)))
+                .andExpect(jsonPath("$.totals[0].revenue", is(55.0)))
+                .andExpect(jsonPath("$.totals[0].distinctCustomers", is(2)));
+    }
+
+    @Test
+    void getSales_DailyByProduct_MergesHoursAndCountsCustomersOncePerRange() throws Exception {
+        placeOrders();
+
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("granularity", "day")
+                        .param("from", "2024-03-10T00:00:00Z")
+                        .param("to", "2024-03-12T00:00:00Z")
+                        .param("groupBy", "product"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points", hasSize(3)))
+                .andExpect(jsonPath("$.totals", hasSize(2)))
+                .andExpect(jsonPath("$.totals[0].groupId", is((int) book.getId())))
+                .andExpect(jsonPath("$.totals[0].revenue", is(40.0)))
+                .andExpect(jsonPath("$.totals[0].units", is(4)))
+                .andExpect(jsonPath("$.totals[0].orders", is(3)))
+                // Bob bought the book on both days and still counts once over the range
+                .andExpect(jsonPath("$.totals[0].distinctCustomers", is(2)))
+                .andExpect(jsonPath("$.totals[1].groupId", is((int) game.getId())))
+                .andExpect(jsonPath("$.totals[1].units", is(5)));
+    }
+
+    @Test
+    void cancelledOrder_IsRemovedFromItsHourAndDay() throws Exception {
+        Long cancelled = placeOrders();
+
+        // Cancellation is recognised in any case, the rollups must agree with the released stock
+        orderService.updateOrderStatus(cancelled, "cancelled");
+        refreshRollups();
+        // A redelivered event only marks the hour again, the rebuild gives the same figures
+        salesRollupService.markDirty(Instant.parse("2024-03-10T14:00:00Z"));
+        refreshRollups();
+
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("granularity", "day")
+                        .param("from", "2024-03-10T00:00:00Z")
+                        .param("to", "2024-03-11T00:00:00Z")
+                        .param("groupBy", "category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals", hasSize(2)))
+                .andExpect(jsonPath("$.totals[0].groupId", is((int) books.getId())))
+                .andExpect(jsonPath("$.totals[1].groupId", is((int) games.getId())))
+                .andExpect(jsonPath("$.totals[1].revenue", is(5.0)))
+                .andExpect(jsonPath("$.totals[1].orders", is(1)));
+    }
+
+    @Test
+    void getSales_RangeTooWide_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("granularity", "hour")
+                        .param("from", "2024-01-01T00:00:00Z")
+                        .param("to", "2024-12-31T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Returns the id of the only order placed at 14:00
+    private Long placeOrders() {
+        placeOrder(alice, "2024-03-10T10:15:00Z", new Line(book, 2), new Line(game, 1));
+        placeOrder(bob, "2024-03-10T10:45:00Z", new Line(book, 1));
+        Long afternoon = placeOrder(alice, "2024-03-10T14:00:00Z", new Line(game, 4));
+        placeOrder(bob, "2024-03-11T09:00:00Z", new Line(book, 1));
+        refreshRollups();
+        assertEquals(0, salesRollupDayRepository.findAll().stream().filter(day -> day.getDirtyHours() != 0).count());
+        return afternoon;
+    }
+
+    private record Line(Product product, int quantity) {
+    }
+
+    private Long placeOrder(Customer customer, String orderDate, Line... lines) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus("Pending");
+        order.setOrderDate(Instant.parse(orderDate));
+        BigDecimal total = BigDecimal.ZERO;
+        for (Line line : lines) {
+            OrderItem item = new OrderItem();
+            item.setProduct(line.product());
+            item.setQuantity(line.quantity());
+            item.setPrice(line.product().getPrice());
+            order.addOrderItem(item);
+            total = total.add(line.product().getPrice().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+        order.setTotal(total);
+        return orderService.createOrder(order).getId();
+    }
+
+    private void refreshRollups() {
+        int relayed;
+        do {
+            relayed = outboxRelay.relayBatch();
+        } while (relayed > 0);
+        salesRollupService.refreshDirtyDays();
+    }
+
+    private static Customer customer(String name, String phone) {
+        Customer customer = new Customer();
+        customer.setUsername("analytics." + name);
+        customer.setFullName("Analytics " + name);
+        customer.setEmail("analytics." + name + "@example.com");
+        customer.setPassword("password");
+        customer.setPhone(phone);
+        return customer;
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private static Product product(String name, String price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(100);
+        product.setCategory(category);
+        return product;
+    }
+}
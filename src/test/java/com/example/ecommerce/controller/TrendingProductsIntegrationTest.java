@@ -0,0 +1,149 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CheckoutDto;
+import com.example.ecommerce.dto.CheckoutItemDto;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.CategoryRepository;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.CheckoutService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: sales only count once their checkout commits; each test uses its own category
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrendingProductsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+    private Category category;
+    private Product mug;
+    private Product kettle;
+    private Product lastTeapot;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("trending.buyer");
+        customer.setFullName("Trending Buyer");
+        customer.setEmail("trending.buyer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000008");
+        customer = customerRepository.save(customer);
+
+        category = new Category();
+        category.setName("Trending Kitchen " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        mug = productRepository.save(product("Trending Mug", 100));
+        kettle = productRepository.save(product("Trending Kettle", 100));
+        lastTeapot = productRepository.save(product("Trending Teapot", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByCustomer_Id(customer.getId()));
+        productRepository.deleteAll(List.of(mug, kettle, lastTeapot));
+        categoryRepository.deleteById(category.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void getTrending_ByCategory_RanksCommittedSales() throws Exception {
+        checkout(new CheckoutItemDto(mug.getId(), 2), new CheckoutItemDto(kettle.getId(), 1));
+        checkout(new CheckoutItemDto(mug.getId(), 3));
+        checkout(new CheckoutItemDto(kettle.getId(), 1), new CheckoutItemDto(lastTeapot.getId(), 1));
+
+        mockMvc.perform(get("/api/products/trending")
+                        .param("categoryId", String.valueOf(category.getId()))
+                        .param("minutes", "15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].productId", is((int) mug.getId())))
+                .andExpect(jsonPath("$[0].productName", is("Trending Mug")))
+                .andExpect(jsonPath("$[0].unitsSold", is(5)))
+                .andExpect(jsonPath("$[0].guaranteedUnitsSold", is(5)))
+                .andExpect(jsonPath("$[1].productId", is((int) kettle.getId())))
+                .andExpect(jsonPath("$[1].categoryId", is((int) category.getId())));
+    }
+
+    @Test
+    void getTrending_RolledBackCheckout_IsNotCounted() throws Exception {
+        checkout(new CheckoutItemDto(kettle.getId(), 1));
+        assertThrows(InsufficientStockException.class, () ->
+                checkout(new CheckoutItemDto(mug.getId(), 4), new CheckoutItemDto(lastTeapot.getId(), 2)));
+
+        mockMvc.perform(get("/api/products/trending")
+                        .param("categoryId", String.valueOf(category.getId()))
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productId", is((int) kettle.getId())));
+    }
+
+    @Test
+    void getTrending_WindowOrLimitOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/trending").param("minutes", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/trending").param("minutes", "100000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/trending").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void checkout(CheckoutItemDto... items) {
+        CheckoutDto checkoutDto = new CheckoutDto();
+        checkoutDto.setCustomerId(customer.getId());
+        checkoutDto.setPaymentMethod("Card");
+        checkoutDto.setItems(List.of(items));
+        checkoutService.checkout(checkoutDto);
+    }
+
+    private Product product(String name, int stock) {
+        Product newProduct = new Product();
+        newProduct.setName(name);
+        newProduct.setDescription(name);
+        newProduct.setPrice(BigDecimal.TEN);
+        newProduct.setStockQuantity(stock);
+        newProduct.setCategory(category);
+        return newProduct;
+    }
+}
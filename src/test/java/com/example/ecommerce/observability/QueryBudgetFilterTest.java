@@ -0,0 +1,104 @@
+package com.example.ecommerce.observability;
+
+import com.example.ecommerce.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCounter queryCounter = new QueryCounter();
+
+    @Test
+    void doFilter_WithinBudget_RecordsQueriesPerEndpoint() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, 5, true);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), issuing(3));
+
+        var summary = meterRegistry.get("request.queries")
+                .tag("uri", "/api/orders/{orderId}")
+                .tag("method", "GET")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+        assertTrue(meterRegistry.find("request.queries.over.budget").counters().isEmpty());
+    }
+
+    @Test
+    void doFilter_OverBudget_CountsButDoesNotFailOutsideStrictMode() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, 5, false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), issuing(6));
+
+        assertEquals(1.0, meterRegistry.get("request.queries.over.budget")
+                .tag("uri", "/api/orders/{orderId}")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void doFilter_OverBudgetInStrictMode_Throws() {
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, 5, true);
+
+        QueryBudgetExceededException thrown = assertThrows(QueryBudgetExceededException.class,
+                () -> filter.doFilter(request(), new MockHttpServletResponse(), issuing(6)));
+        assertTrue(thrown.getMessage().contains("queries=6"));
+        assertEquals(0, QueryCounter.current());
+    }
+
+    @Test
+    void doFilter_OverBudgetInStrictMode_LeavesTheResponseUncommitted() {
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, 5, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(QueryBudgetExceededException.class, () -> filter.doFilter(request(), response, writing(6)));
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    void doFilter_WithinBudgetInStrictMode_CopiesTheBufferedBody() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, 5, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, writing(3));
+
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void inspect_OutsideARequest_IsNotCounted() {
+        queryCounter.inspect("select 1");
+
+        assertEquals(0, QueryCounter.current());
+    }
+
+    // Stands in for the handler: Hibernate would call inspect once per prepared statement
+    private FilterChain issuing(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                queryCounter.inspect("select " + i);
+            }
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderId}");
+        };
+    }
+
+    // Like a message converter: the handler writes the body and flushes before the filter sees the count
+    private FilterChain writing(int statements) {
+        FilterChain issuing = issuing(statements);
+        return (request, response) -> {
+            issuing.doFilter(request, response);
+            response.getWriter().write("[]");
+            response.flushBuffer();
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/orders/42");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommerce.observability;
+
+import com.example.ecommerce.model.Tag;
+import com.example.ecommerce.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+@Rollback
+@ActiveProfiles("test")
+class QueryCounterIntegrationTest {
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void hibernateStatements_AreCountedOnTheCurrentThread() {
+        Tag tag = new Tag();
+        tag.setName("counted");
+        tagRepository.saveAndFlush(tag);
+
+        QueryCounter.start();
+        try {
+            tagRepository.findAll();
+            tagRepository.count();
+
+            assertEquals(2, QueryCounter.current());
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    @Test
+    void startRecording_KeepsTheGeneratedSql() {
+        QueryCounter.startRecording();
+        try {
+            tagRepository.count();
+
+            assertEquals(1, QueryCounter.recorded().size());
+            assertTrue(QueryCounter.recorded().getFirst().toLowerCase().contains("tags"));
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+}
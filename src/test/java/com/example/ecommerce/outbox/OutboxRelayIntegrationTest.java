@@ -0,0 +1,210 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.model.OutboxEvent;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Not @Transactional: the relay only sees committed events and runs its own transactions
+@SpringBootTest(properties = {"outbox.relay.batch-size=5", "outbox.relay.max-attempts=2", "outbox.relay.retry-backoff=0s"})
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest {
+    private static final String FAILING_EVENT = "TestFailing";
+    private static final String PLAIN_EVENT = "TestPlain";
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSubscriber recordingSubscriber;
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+
+        @Bean
+        OutboxSubscriber failingSubscriber() {
+            return new OutboxSubscriber() {
+                @Override
+                public String name() {
+                    return "failing";
+                }
+
+                @Override
+                public boolean supports(String eventType) {
+                    return FAILING_EVENT.equals(eventType);
+                }
+
+                @Override
+                public void handle(OutboxMessage message) {
+                    throw new IllegalStateException("subscriber down");
+                }
+            };
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        final ConcurrentLinkedQueue<OutboxMessage> received = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public boolean supports(String eventType) {
+            return true;
+        }
+
+        @Override
+        public void handle(OutboxMessage message) {
+            received.add(message);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        recordingSubscriber.received.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void relayBatch_DeliversCommittedEventsAndMarksThemProcessed() {
+        publish(PLAIN_EVENT, 7L);
+
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+
+        assertEquals(1, recordingSubscriber.received.size());
+        OutboxMessage message = recordingSubscriber.received.peek();
+        assertEquals(PLAIN_EVENT, message.eventType());
+        assertEquals(7L, message.aggregateId());
+        assertEquals("{\"value\":7}", message.payload());
+        assertNotNull(outboxEventRepository.findAll().getFirst().getProcessedAt());
+    }
+
+    @Test
+    void relayBatch_EventsOfARolledBackTransactionAreNeverDelivered() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            outboxPublisher.publish("Test", 1L, PLAIN_EVENT, Map.of("value", 1));
+            throw new IllegalStateException("write failed");
+        }));
+
+        assertEquals(0, outboxRelay.relayBatch());
+        assertTrue(recordingSubscriber.received.isEmpty());
+    }
+
+    @Test
+    void relayBatch_FailingSubscriberDoesNotBlockOthersAndIsRetriedThenAbandoned() {
+        publish(FAILING_EVENT, 1L);
+
+        assertEquals(1, outboxRelay.relayBatch());
+        OutboxEvent afterFirstAttempt = outboxEventRepository.findAll().getFirst();
+        assertNull(afterFirstAttempt.getProcessedAt());
+        assertEquals(1, afterFirstAttempt.getAttempts());
+        assertTrue(afterFirstAttempt.getLastError().contains("subscriber down"));
+
+        // max-attempts=2 with no backoff, the second failure gives up on the event
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+        OutboxEvent abandoned = outboxEventRepository.findAll().getFirst();
+        assertNotNull(abandoned.getProcessedAt());
+        assertEquals(2, abandoned.getAttempts());
+
+        // The healthy subscriber saw both attempts, delivery is at least once
+        assertEquals(2, recordingSubscriber.received.size());
+    }
+
+    @Test
+    void relayBatch_DrainsInBatchesInIdOrder() {
+        IntStream.rangeClosed(1, 7).forEach(i -> publish(PLAIN_EVENT, (long) i));
+
+        assertEquals(5, outboxRelay.relayBatch());
+        assertEquals(2, outboxRelay.relayBatch());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L),
+                recordingSubscriber.received.stream().map(OutboxMessage::aggregateId).toList());
+    }
+
+    @Test
+    void relayBatch_ConcurrentRelaysClaimDisjointBatches() throws Exception {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        assumeTrue("PostgreSQL".equals(database), "SKIP LOCKED semantics are only checked against PostgreSQL");
+
+        IntStream.rangeClosed(1, 50).forEach(i -> publish(PLAIN_EVENT, (long) i));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Callable<Integer> relay = () -> {
+                start.await();
+                int relayed = 0;
+                for (int batch; (batch = outboxRelay.relayBatch()) > 0; ) {
+                    relayed += batch;
+                }
+                return relayed;
+            };
+            List<Future<Integer>> results = IntStream.range(0, 4).mapToObj(i -> executor.submit(relay)).toList();
+            start.countDown();
+
+            int relayed = 0;
+            for (Future<Integer> result : results) {
+                relayed += result.get();
+            }
+            assertEquals(50, relayed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, recordingSubscriber.received.stream().map(OutboxMessage::id).distinct().count());
+        assertEquals(50, recordingSubscriber.received.size());
+    }
+
+    private void publish(String eventType, Long aggregateId) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxPublisher.publish("Test", aggregateId, eventType, Map.of("value", aggregateId)));
+    }
+}
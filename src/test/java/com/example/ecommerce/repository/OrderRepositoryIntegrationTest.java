@@ -0,0 +1,113 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.Category;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.projection.OrderHistoryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+@Rollback
+@ActiveProfiles("test")
+class OrderRepositoryIntegrationTest {
+    private static final Instant LATEST = Instant.parse("9999-12-31T00:00:00Z");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setUsername("history.customer");
+        customer.setFullName("History Customer");
+        customer.setEmail("history.customer@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000003");
+        customer = customerRepository.save(customer);
+
+        Category category = new Category();
+        category.setName("History");
+        categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("History Product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void findHistoryPage_ReturnsNewestFirstWithItemCounts() {
+        Order older = saveOrder(Instant.parse("2024-01-05T00:00:00Z"), 1);
+        Order newer = saveOrder(Instant.parse("2024-01-20T00:00:00Z"), 3);
+
+        List<OrderHistoryView> page = orderRepository.findHistoryPage(
+                customer.getId(), Instant.EPOCH, LATEST, 0L, Limit.of(10));
+
+        assertEquals(List.of(newer.getId(), older.getId()), page.stream().map(OrderHistoryView::getId).toList());
+        assertEquals(List.of(3L, 1L), page.stream().map(OrderHistoryView::getItemCount).toList());
+    }
+
+    @Test
+    void findHistoryPage_HonoursDateRangeAndCursor() {
+        Instant sameDay = Instant.parse("2024-01-10T00:00:00Z");
+        saveOrder(Instant.parse("2023-12-31T00:00:00Z"), 1);
+        Order first = saveOrder(sameDay, 1);
+        Order second = saveOrder(sameDay, 1);
+        saveOrder(Instant.parse("2024-02-01T00:00:00Z"), 1);
+
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        List<OrderHistoryView> firstPage = orderRepository.findHistoryPage(customer.getId(), from, to, 0L, Limit.of(1));
+        List<OrderHistoryView> secondPage = orderRepository.findHistoryPage(
+                customer.getId(), from, sameDay, second.getId(), Limit.of(10));
+
+        assertEquals(List.of(second.getId()), firstPage.stream().map(OrderHistoryView::getId).toList());
+        assertEquals(List.of(first.getId()), secondPage.stream().map(OrderHistoryView::getId).toList());
+    }
+
+    private Order saveOrder(Instant orderDate, int itemCount) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus("Pending");
+        order.setTotal(BigDecimal.TEN);
+        order.setOrderDate(orderDate);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setPrice(BigDecimal.TEN);
+            order.addOrderItem(item);
+        }
+        return orderRepository.saveAndFlush(order);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.observability.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs each finder, captures the SQL Hibernate generated for it and checks the generic plan of that statement,
+// the indexes come from the Flyway migrations
+@SpringBootTest
+@Transactional
+@Rollback
+@ActiveProfiles("test")
+class RepositoryIndexUsageIntegrationTest {
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ShippingAddressRepository shippingAddressRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private InventoryReservationRepository inventoryReservationRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesRollupDayRepository salesRollupDayRepository;
+
+    @BeforeEach
+    void setUp() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        assumeTrue("PostgreSQL".equals(database), "EXPLAIN plans are only checked against PostgreSQL");
+
+        // Near-empty test tables are cheaper to scan, this makes the planner take an index whenever one applies
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        // Plans for any parameter values, so the statement can be explained with its parameters left unbound
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            OrderRepository.findByCustomer_Id                   | idx_orders_customer_order_date
+            OrderRepository.findHistoryPage                     | idx_orders_customer_order_date
+            OrderItemRepository.findSalesLines                  | idx_orders_order_date
+            OrderItemRepository.findAllByOrder_Id               | idx_order_items_order_id
+            OrderItemRepository.findAllByProduct_Id             | idx_order_items_product_id
+            PaymentRepository.findAllByOrder_Id                 | idx_payments_order_id
+            PaymentRepository.findAllByStatus                   | idx_payments_status
+            PaymentRepository.findAllByAmountBetween            | idx_payments_amount
+            ShippingAddressRepository.findAllByCustomerId       | idx_shipping_addresses_customer_id
+            ShippingAddressRepository.findAllByCountry          | idx_shipping_addresses_country_city
+            ShippingAddressRepository.findAllByCity             | idx_shipping_addresses_city
+            ReviewRepository.findFirstPageByProductId           | idx_reviews_product_created_at
+            ReviewRepository.findPageByCustomerIdBefore         | idx_reviews_customer_created_at
+            InventoryReservationRepository.findAllByOrder_Id    | idx_inventory_reservations_order_id
+            OrderSummaryRepository.findPage                     | idx_order_summary_order_date
+            OrderSummaryRepository.findPageByStatus             | idx_order_summary_status_order_date
+            OrderSummaryRepository.findPageByCustomerId         | idx_order_summary_customer_order_date
+            SalesRollupRepository.findBuckets                   | uk_sales_rollups_bucket
+            SalesRollupDayRepository.findDirty                  | idx_sales_rollup_days_dirty
+            """)
+    void repositoryQuery_UsesIndex(String finder, String index) {
+        String sql = generatedSql(finder);
+        String plan = explain(sql);
+
+        assertTrue(plan.contains(index), finder + " does not use " + index + ":\n" + sql + "\n" + plan);
+    }
+
+    // The first statement the finder sends, the tables are empty so no follow-up selects run
+    private String generatedSql(String finder) {
+        QueryCounter.startRecording();
+        try {
+            runFinder(finder);
+            List<String> statements = QueryCounter.recorded();
+            assertFalse(statements.isEmpty(), finder + " sent no statement");
+            return statements.getFirst();
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    private void runFinder(String finder) {
+        switch (finder) {
+            case "OrderRepository.findByCustomer_Id" -> orderRepository.findByCustomer_Id(1L);
+            case "OrderRepository.findHistoryPage" -> orderRepository.findHistoryPage(1L, FROM, TO, 0L, Limit.of(21));
+            case "OrderItemRepository.findSalesLines" -> orderItemRepository.findSalesLines(FROM, TO, "Cancelled");
+            case "OrderItemRepository.findAllByOrder_Id" -> orderItemRepository.findAllByOrder_Id(1L);
+            case "OrderItemRepository.findAllByProduct_Id" -> orderItemRepository.findAllByProduct_Id(1L);
+            case "PaymentRepository.findAllByOrder_Id" -> paymentRepository.findAllByOrder_Id(1L);
+            case "PaymentRepository.findAllByStatus" -> paymentRepository.findAllByStatus("Pending");
+            case "PaymentRepository.findAllByAmountBetween" -> paymentRepository.findAllByAmountBetween(10.0, 20.0);
+            case "ShippingAddressRepository.findAllByCustomerId" -> shippingAddressRepository.findAllByCustomerId(1L);
+            case "ShippingAddressRepository.findAllByCountry" -> shippingAddressRepository.findAllByCountry("Bulgaria");
+            case "ShippingAddressRepository.findAllByCity" -> shippingAddressRepository.findAllByCity("Sofia");
+            case "ReviewRepository.findFirstPageByProductId" -> reviewRepository.findFirstPageByProductId(1L, Limit.of(20));
+            case "ReviewRepository.findPageByCustomerIdBefore" ->
+                    reviewRepository.findPageByCustomerIdBefore(1L, TO, 100L, Limit.of(20));
+            case "InventoryReservationRepository.findAllByOrder_Id" -> inventoryReservationRepository.findAllByOrder_Id(1L);
+            case "OrderSummaryRepository.findPage" -> orderSummaryRepository.findPage(FROM, TO, 0L, Limit.of(21));
+            case "OrderSummaryRepository.findPageByStatus" ->
+                    orderSummaryRepository.findPageByStatus("Pending", FROM, TO, 0L, Limit.of(21));
+            case "OrderSummaryRepository.findPageByCustomerId" ->
+                    orderSummaryRepository.findPageByCustomerId(1L, FROM, TO, 0L, Limit.of(21));
+            case "SalesRollupRepository.findBuckets" -> salesRollupRepository.findBuckets("day", "product", FROM, TO);
+            case "SalesRollupDayRepository.findDirty" -> salesRollupDayRepository.findDirty(TO, Limit.of(1));
+            default -> throw new IllegalArgumentException("No call for " + finder);
+        }
+    }
+
+    // JDBC ? placeholders become $n so PostgreSQL can prepare the statement and explain its generic plan
+    private String explain(String sql) {
+        StringBuilder positional = new StringBuilder();
+        StringJoiner arguments = new StringJoiner(", ", "(", ")");
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++parameter);
+                arguments.add("NULL");
+            } else {
+                positional.append(c);
+            }
+        }
+
+        jdbcTemplate.execute("PREPARE finder_under_test AS " + positional);
+        try {
+            String execute = parameter == 0 ? "EXECUTE finder_under_test" : "EXECUTE finder_under_test" + arguments;
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + execute, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE finder_under_test");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ecommerce.security.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthEventLogTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthEventLog authEventLog = new AuthEventLog(meterRegistry, 64, 0, 100, 1, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        authEventLog.shutdown();
+    }
+
+    @Test
+    void record_CountsEveryEventRegardlessOfSampling() {
+        for (int i = 0; i < 250; i++) {
+            authEventLog.record(AuthEventType.AUTHENTICATED, "GET", "/api/products", "john.doe", null);
+        }
+        for (int i = 0; i < 3; i++) {
+            authEventLog.record(AuthEventType.ANONYMOUS, "GET", "/api/products", null, null);
+        }
+        authEventLog.record(AuthEventType.FAILED, "GET", "/api/orders/1", null, "ExpiredJwtException: JWT expired");
+
+        assertEquals(250.0, eventCount("authenticated"));
+        assertEquals(3.0, eventCount("anonymous"));
+        assertEquals(1.0, eventCount("failed"));
+        assertEquals(0.0, eventCount("rejected"));
+        assertEquals(0.0, meterRegistry.get("auth.events.dropped").counter().count());
+    }
+
+    private double eventCount(String type) {
+        return meterRegistry.get("auth.events").tag("type", type).counter().count();
+    }
+}
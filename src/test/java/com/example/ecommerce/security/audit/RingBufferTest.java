@@ -0,0 +1,87 @@
+package com.example.ecommerce.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void offer_FullBuffer_ReturnsFalseUntilPolled() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            drained.add(element);
+        }
+        assertEquals(List.of(1, 2, 3, 4), drained);
+    }
+
+    @Test
+    void constructor_CapacityNotPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(6));
+    }
+
+    @Test
+    void offer_ConcurrentProducers_DeliversEveryAcceptedElementOnce() throws Exception {
+        int producers = 8;
+        int perProducer = 10_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                accepted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> received = new HashSet<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                Integer element = buffer.poll();
+                if (element != null) {
+                    assertTrue(received.add(element), "duplicate element " + element);
+                }
+            }
+
+            for (Future<Integer> count : accepted) {
+                assertEquals(perProducer, count.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(producers * perProducer, received.size());
+            assertNull(buffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CheckoutDto;
+import com.example.ecommerce.dto.CheckoutItemDto;
+import com.example.ecommerce.dto.CheckoutResultDto;
+import com.example.ecommerce.event.ProductsSoldEvent;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CheckoutServiceTest {
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CheckoutService checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(paymentService.convertToDto(any())).thenCallRealMethod();
+        when(orderService.createOrder(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            ReflectionTestUtils.setField(order, "id", 100L);
+            return order;
+        });
+    }
+
+    @Test
+    void checkout_ValidCart_ComputesTotalAndSavesOrderOnce() {
+        when(customerService.findById(1L)).thenReturn(new Customer(1L));
+        when(productRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(product(10L, "2.50"), product(20L, "10.00")));
+
+        CheckoutResultDto result = checkoutService.checkout(checkout(
+                new CheckoutItemDto(10L, 2),
+                new CheckoutItemDto(20L, 1),
+                new CheckoutItemDto(10L, 1)));
+
+        assertEquals(100L, result.getOrderId());
+        assertEquals(new BigDecimal("17.50"), result.getTotal());
+        assertEquals(2, result.getItems().size());
+        assertEquals(3, result.getItems().getFirst().getQuantity());
+        assertEquals(new BigDecimal("17.50"), result.getPayment().getAmount());
+        assertEquals("Card", result.getPayment().getPaymentMethod());
+
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderService, times(1)).createOrder(orderCaptor.capture());
+        assertEquals("Pending", orderCaptor.getValue().getStatus());
+        verify(productRepository, times(1)).findAllById(anyCollection());
+        verify(inventoryService, times(1)).reserve(orderCaptor.getValue(), Map.of(10L, 3, 20L, 1));
+        ArgumentCaptor<ProductsSoldEvent> soldCaptor = ArgumentCaptor.forClass(ProductsSoldEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(soldCaptor.capture());
+        assertEquals(2, soldCaptor.getValue().lines().size());
+    }
+
+    @Test
+    void checkout_UnknownProduct_ThrowsResourceNotFoundException() {
+        when(customerService.findById(1L)).thenReturn(new Customer(1L));
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product(10L, "2.50")));
+
+        assertThrows(ResourceNotFoundException.class, () -> checkoutService.checkout(checkout(
+                new CheckoutItemDto(10L, 1),
+                new CheckoutItemDto(99L, 1))));
+        verify(orderService, never()).createOrder(any());
+        verifyNoInteractions(inventoryService, eventPublisher);
+    }
+
+    @Test
+    void checkout_EmptyCart_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class, () -> checkoutService.checkout(checkout()));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void checkout_MissingCustomerId_ThrowsBadRequestException() {
+        CheckoutDto checkoutDto = checkout(new CheckoutItemDto(10L, 1));
+        checkoutDto.setCustomerId(null);
+
+        assertThrows(BadRequestException.class, () -> checkoutService.checkout(checkoutDto));
+        verifyNoInteractions(customerService, productRepository);
+    }
+
+    @Test
+    void checkout_NonPositiveQuantity_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class, () -> checkoutService.checkout(checkout(new CheckoutItemDto(10L, 0))));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static CheckoutDto checkout(CheckoutItemDto... items) {
+        CheckoutDto checkoutDto = new CheckoutDto();
+        checkoutDto.setCustomerId(1L);
+        checkoutDto.setPaymentMethod("Card");
+        checkoutDto.setItems(List.of(items));
+        return checkoutDto;
+    }
+
+    private static Product product(Long id, String price) {
+        Product product = new Product(id);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
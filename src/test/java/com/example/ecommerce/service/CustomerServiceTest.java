@@ -0,0 +1,81 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerServiceTest {
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final CustomerService customerService = new CustomerService(customerRepository);
+
+    @Test
+    void findById_ConcurrentMisses_ShareOneSelectButNotTheInstance() throws Exception {
+        int callers = 8;
+        Customer managed = customer(1L);
+        CountDownLatch selectStarted = new CountDownLatch(1);
+        CountDownLatch releaseSelect = new CountDownLatch(1);
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+            selectStarted.countDown();
+            assertTrue(releaseSelect.await(5, TimeUnit.SECONDS));
+            return Optional.of(managed);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<Customer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> customerService.findById(1L)));
+            assertTrue(selectStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> customerService.findById(1L)));
+            }
+            // Give the followers time to join the in-flight load before it completes
+            Thread.sleep(100);
+            releaseSelect.countDown();
+
+            Map<Customer, Boolean> distinct = new IdentityHashMap<>();
+            for (Future<Customer> result : results) {
+                Customer customer = result.get(5, TimeUnit.SECONDS);
+                assertNotSame(managed, customer);
+                assertEquals(1L, customer.getId());
+                assertEquals("buyer1", customer.getUsername());
+                distinct.put(customer, true);
+            }
+            assertEquals(callers, distinct.size());
+            verify(customerRepository, times(1)).findById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findById_UnknownId_ThrowsResourceNotFoundException() {
+        when(customerRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findById(2L));
+    }
+
+    private static Customer customer(Long id) {
+        Customer customer = new Customer(id);
+        customer.setUsername("buyer" + id);
+        customer.setFullName("Flash Buyer");
+        customer.setEmail("buyer" + id + "@example.com");
+        customer.setPassword("password");
+        customer.setPhone("0700000000");
+        return customer;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.config.CacheConfig;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.InventoryReservation;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.InventoryReservationRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InventoryServiceTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InventoryReservationRepository reservationRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache productsCache;
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    private final Order order = new Order(7L);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(productsCache);
+        when(productRepository.getReferenceById(anyLong())).thenAnswer(invocation -> new Product(invocation.getArgument(0, Long.class)));
+        when(reservationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reserve_AllLinesInStock_DecrementsInProductIdOrderAndSavesReservations() {
+        when(jdbcTemplate.batchUpdate(eq(InventoryService.DECREMENT_STOCK_SQL), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 1}});
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(20L, 1);
+        quantities.put(10L, 3);
+
+        List<InventoryReservation> reservations = inventoryService.reserve(order, quantities);
+
+        ArgumentCaptor<Collection<Map.Entry<Long, Integer>>> lines = ArgumentCaptor.forClass(Collection.class);
+        // Pending inserts go out before the stock update takes the row locks
+        InOrder inOrder = inOrder(reservationRepository, jdbcTemplate);
+        inOrder.verify(reservationRepository).saveAllAndFlush(anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(InventoryService.DECREMENT_STOCK_SQL), lines.capture(), eq(2), any());
+        assertEquals(List.of(10L, 20L), lines.getValue().stream().map(Map.Entry::getKey).toList());
+
+        assertEquals(2, reservations.size());
+        assertEquals(10L, reservations.getFirst().getProductId());
+        assertEquals(3, reservations.getFirst().getQuantity());
+        assertEquals(InventoryReservation.RESERVED, reservations.getFirst().getStatus());
+        verify(productsCache).evict(10L);
+        verify(productsCache).evict(20L);
+    }
+
+    @Test
+    void reserve_LineOutOfStock_ThrowsAndEvictsNothing() {
+        when(jdbcTemplate.batchUpdate(eq(InventoryService.DECREMENT_STOCK_SQL), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 0}});
+
+        InsufficientStockException thrown = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(order, Map.of(10L, 1, 20L, 5)));
+
+        assertTrue(thrown.getMessage().contains("20"));
+        verify(productsCache, never()).evict(any());
+    }
+
+    @Test
+    void release_OpenReservations_RestoresStockAndMarksReleased() {
+        InventoryReservation reservation = new InventoryReservation(order, new Product(10L), 3);
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate(7L, InventoryReservation.RESERVED))
+                .thenReturn(new ArrayList<>(List.of(reservation)));
+
+        inventoryService.release(7L);
+
+        verify(jdbcTemplate).batchUpdate(eq(InventoryService.INCREMENT_STOCK_SQL), anyCollection(), eq(1), any());
+        assertEquals(InventoryReservation.RELEASED, reservation.getStatus());
+        verify(productsCache).evict(10L);
+    }
+
+    @Test
+    void release_NothingReserved_IsNoOp() {
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate(7L, InventoryReservation.RESERVED))
+                .thenReturn(new ArrayList<>());
+
+        inventoryService.release(7L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
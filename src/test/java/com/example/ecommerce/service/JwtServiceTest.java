@@ -0,0 +1,106 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.event.RolesChangedEvent;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Role;
+import com.example.ecommerce.security.TokenPrincipal;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private static final String SECRET_KEY = "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET_KEY, 60_000, 100, meterRegistry);
+
+    @Test
+    void generateToken_RoundTripsUsername() {
+        Customer customer = customer("john.doe");
+
+        String token = jwtService.generateToken(customer);
+
+        assertEquals("john.doe", jwtService.extractUsername(token));
+        assertTrue(jwtService.isTokenValid(token, customer));
+        assertFalse(jwtService.isTokenValid(token, customer("jane.doe")));
+    }
+
+    @Test
+    void extractUsername_RepeatedToken_IsServedFromCache() {
+        String token = jwtService.generateToken(customer("john.doe"));
+
+        jwtService.extractUsername(token);
+        jwtService.isTokenValid(token, customer("john.doe"));
+
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(2.0, cacheGets("hit"));
+    }
+
+    @Test
+    void extractUsername_TamperedToken_ThrowsAndIsNotCached() {
+        String token = jwtService.generateToken(customer("john.doe"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.extractUsername(tampered));
+        assertThrows(JwtException.class, () -> jwtService.extractUsername(tampered));
+        assertEquals(0.0, cacheGets("hit"));
+    }
+
+    @Test
+    void extractUsername_ExpiredToken_Throws() {
+        JwtService shortLived = new JwtService(SECRET_KEY, -1_000, 100, new SimpleMeterRegistry());
+        String token = shortLived.generateToken(customer("john.doe"));
+
+        assertThrows(JwtException.class, () -> shortLived.extractUsername(token));
+    }
+
+    @Test
+    void extractPrincipal_CustomerToken_ReturnsClaimsPrincipal() {
+        Role role = new Role();
+        role.setName("ROLE_ADMIN");
+        Customer customer = customer("john.doe");
+        customer.setRoles(Set.of(role));
+
+        Optional<UserDetails> principal = jwtService.extractPrincipal(jwtService.generateToken(customer));
+
+        assertTrue(principal.isPresent());
+        TokenPrincipal tokenPrincipal = (TokenPrincipal) principal.get();
+        assertEquals(5L, tokenPrincipal.getId());
+        assertEquals("john.doe", tokenPrincipal.getUsername());
+        assertEquals(List.of("ROLE_ADMIN"), tokenPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    @Test
+    void extractPrincipal_TokenIssuedBeforeRoleChange_ReturnsEmpty() {
+        String token = jwtService.generateToken(customer("john.doe"));
+
+        jwtService.onRolesChanged(new RolesChangedEvent(1L));
+
+        assertTrue(jwtService.extractPrincipal(token).isEmpty());
+        assertEquals("john.doe", jwtService.extractUsername(token));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "verifiedTokens")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static Customer customer(String username) {
+        Customer customer = new Customer(5L);
+        customer.setUsername(username);
+        return customer;
+    }
+}
@@ -1,11 +1,23 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.OrderItemDto;
+import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.event.OrderItemEvent;
+import com.example.ecommerce.event.ProductsSoldEvent;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Order;
 import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.projection.OrderItemView;
+import com.example.ecommerce.outbox.OutboxPublisher;
 import com.example.ecommerce.repository.OrderItemRepository;
 import com.example.ecommerce.repository.OrderRepository;
-import com.example.ecommerce.repository.ProductRepository;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -16,8 +28,11 @@ import static org.mockito.Mockito.*;
 class OrderItemServiceTest {
     private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
     private final OrderRepository orderRepository = mock(OrderRepository.class);
-    private final ProductRepository productRepository = mock(ProductRepository.class);
-    private final OrderItemService orderItemService = new OrderItemService(orderItemRepository, orderRepository, productRepository);
+    private final ProductService productService = mock(ProductService.class);
+    private final OutboxPublisher outboxPublisher = mock(OutboxPublisher.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final OrderItemService orderItemService =
+            new OrderItemService(orderItemRepository, orderRepository, productService, outboxPublisher, eventPublisher);
 
     @Test
     void findById_ValidId_ReturnsOrderItem() {
@@ -75,7 +90,7 @@ class OrderItemServiceTest {
     @Test
     void updateOrderItemQuantity_ValidId_UpdatesAndReturnsOrderItem() {
         Long orderItemId = 1L;
-        OrderItem existingOrderItem = new OrderItem();
+        OrderItem existingOrderItem = itemOf(7L, 9L);
         existingOrderItem.setQuantity(5);
         when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.of(existingOrderItem));
         when(orderItemRepository.save(existingOrderItem)).thenReturn(existingOrderItem);
@@ -87,25 +102,111 @@ class OrderItemServiceTest {
         assertEquals(newQuantity, updatedOrderItem.getQuantity());
         verify(orderItemRepository, times(1)).findById(orderItemId);
         verify(orderItemRepository, times(1)).save(existingOrderItem);
+        verify(outboxPublisher).publish(eq(OrderItemEvent.AGGREGATE), eq(orderItemId), eq(OrderItemEvent.UPDATED), any(OrderItemEvent.class));
     }
 
     @Test
-    void createOrderItem_ValidOrderItem_ReturnsSavedOrderItem() {
-        OrderItem orderItem = new OrderItem();
-        when(orderItemRepository.save(orderItem)).thenReturn(orderItem);
-
-        OrderItem result = orderItemService.createOrderItem(orderItem);
+    void createOrderItem_ValidDto_SoldEventUsesTheLoadedOrderAndCachedProduct() {
+        Instant orderDate = Instant.parse("2024-03-10T12:00:00Z");
+        Order order = new Order(7L);
+        order.setOrderDate(orderDate);
+        ProductDto product = new ProductDto(9L);
+        product.setCategoryId(3L);
+        // Stands in for an uninitialized proxy, it carries no category
+        Product reference = new Product(9L);
+        OrderItemDto dto = new OrderItemDto();
+        dto.setOrderId(7L);
+        dto.setProductId(9L);
+        dto.setQuantity(2);
+        dto.setPrice(BigDecimal.TEN);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        when(productService.getProductDtoById(9L)).thenReturn(product);
+        when(productService.getProductReference(9L)).thenReturn(reference);
+        when(orderItemRepository.save(any(OrderItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderItem result = orderItemService.createOrderItem(dto);
+
+        assertEquals(7L, result.getOrderId());
+        assertEquals(9L, result.getProductId());
+        verify(outboxPublisher).publish(eq(OrderItemEvent.AGGREGATE), any(), eq(OrderItemEvent.CREATED),
+                argThat(event -> event instanceof OrderItemEvent itemEvent && itemEvent.orderId() == 7L));
+        ArgumentCaptor<ProductsSoldEvent> soldCaptor = ArgumentCaptor.forClass(ProductsSoldEvent.class);
+        verify(eventPublisher).publishEvent(soldCaptor.capture());
+        assertEquals(List.of(new ProductsSoldEvent.Line(9L, 3L, 2)), soldCaptor.getValue().lines());
+        assertEquals(orderDate, soldCaptor.getValue().soldAt());
+    }
 
-        assertNotNull(result);
-        verify(orderItemRepository, times(1)).save(orderItem);
+    @Test
+    void createOrderItem_UnknownOrder_ThrowsResourceNotFoundException() {
+        OrderItemDto dto = new OrderItemDto();
+        dto.setOrderId(7L);
+        dto.setProductId(9L);
+        when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderItemService.createOrderItem(dto));
+        verify(orderItemRepository, never()).save(any());
     }
 
     @Test
-    void deleteOrderItem_ValidId_CallsDeleteById() {
+    void deleteOrderItem_ValidId_CallsDelete() {
         Long orderItemId = 1L;
+        OrderItem orderItem = itemOf(7L, 9L);
+        when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.of(orderItem));
 
         orderItemService.deleteOrderItem(orderItemId);
 
-        verify(orderItemRepository, times(1)).deleteById(orderItemId);
+        verify(orderItemRepository, times(1)).delete(orderItem);
+        verify(outboxPublisher).publish(eq(OrderItemEvent.AGGREGATE), eq(orderItemId), eq(OrderItemEvent.DELETED), any(OrderItemEvent.class));
+    }
+
+    @Test
+    void getOrderItemDtosByOrderId_MapsProjectionWithoutEntityLookups() {
+        OrderItemView first = view(1L, 3);
+        OrderItemView second = view(2L, 1);
+        when(orderItemRepository.findViewsByOrderId(7L)).thenReturn(List.of(first, second));
+
+        List<OrderItemDto> result = orderItemService.getOrderItemDtosByOrderId(7L);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(OrderItemDto::getId).toList());
+        assertEquals("Widget", result.getFirst().getProductName());
+        assertEquals(3, result.getFirst().getQuantity());
+        verifyNoInteractions(orderRepository, productService);
+    }
+
+    @Test
+    void getOrderItemDtoById_UnknownId_ThrowsResourceNotFoundException() {
+        when(orderItemRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderItemService.getOrderItemDtoById(1L));
+    }
+
+    @Test
+    void convertToDto_UsesIdsCarriedByTheItem() {
+        OrderItem orderItem = itemOf(7L, 9L);
+        orderItem.setQuantity(2);
+
+        OrderItemDto dto = orderItemService.convertToDto(orderItem);
+
+        assertEquals(7L, dto.getOrderId());
+        assertEquals(9L, dto.getProductId());
+        verifyNoInteractions(orderRepository, productService);
+    }
+
+    private static OrderItem itemOf(Long orderId, Long productId) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(new Order(orderId));
+        orderItem.setProduct(new Product(productId));
+        return orderItem;
+    }
+
+    private static OrderItemView view(Long id, int quantity) {
+        OrderItemView view = mock(OrderItemView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getOrderId()).thenReturn(7L);
+        when(view.getProductId()).thenReturn(9L);
+        when(view.getProductName()).thenReturn("Widget");
+        when(view.getQuantity()).thenReturn(quantity);
+        when(view.getPrice()).thenReturn(BigDecimal.TEN);
+        return view;
     }
-}
\ No newline at end of file
+}
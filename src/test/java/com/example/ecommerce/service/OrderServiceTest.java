@@ -1,19 +1,37 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.OrderDto;
+import com.example.ecommerce.dto.OrderHistoryEntryDto;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.event.OrderEvent;
+import com.example.ecommerce.model.Customer;
 import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.projection.OrderHistoryView;
+import com.example.ecommerce.model.projection.OrderItemIdView;
+import com.example.ecommerce.model.projection.OrderView;
+import com.example.ecommerce.outbox.OutboxPublisher;
+import com.example.ecommerce.repository.CustomerRepository;
 import com.example.ecommerce.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class OrderServiceTest {
@@ -21,6 +39,15 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -74,8 +101,7 @@ class OrderServiceTest {
 
     @Test
     void createOrder_ValidOrder_ReturnsSavedOrder() {
-        Order order = new Order();
-        order.setStatus("Pending");
+        Order order = orderOf(5L, "Pending");
 
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
@@ -84,13 +110,14 @@ class OrderServiceTest {
         assertNotNull(savedOrder);
         assertEquals("Pending", savedOrder.getStatus());
         verify(orderRepository, times(1)).save(order);
+        verify(outboxPublisher).publish(eq(OrderEvent.AGGREGATE), eq(5L), eq(OrderEvent.CREATED),
+                argThat(event -> event instanceof OrderEvent orderEvent && orderEvent.customerId() == 33L));
     }
 
     @Test
     void updateOrderStatus_ValidId_UpdatesAndReturnsOrder() {
         Long orderId = 1L;
-        Order existingOrder = new Order();
-        existingOrder.setStatus("Pending");
+        Order existingOrder = orderOf(orderId, "Pending");
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
 
@@ -103,6 +130,22 @@ class OrderServiceTest {
         assertEquals(newStatus, updatedOrder.getStatus());
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).save(existingOrder);
+        verify(outboxPublisher).publish(eq(OrderEvent.AGGREGATE), eq(orderId), eq(OrderEvent.STATUS_CHANGED), any(OrderEvent.class));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void updateOrderStatus_Cancelled_ReleasesReservedStock() {
+        Long orderId = 1L;
+        Order existingOrder = orderOf(orderId, "Pending");
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.save(existingOrder)).thenReturn(existingOrder);
+
+        Order updatedOrder = orderService.updateOrderStatus(orderId, OrderService.CANCELLED_STATUS);
+
+        assertEquals(OrderService.CANCELLED_STATUS, updatedOrder.getStatus());
+        verify(inventoryService, times(1)).release(orderId);
     }
 
     @Test
@@ -117,16 +160,119 @@ class OrderServiceTest {
 
         assertEquals("Order not found", thrown.getMessage());
         verify(orderRepository, times(1)).findById(orderId);
+        verifyNoInteractions(outboxPublisher);
     }
 
     @Test
     void deleteOrderById_ValidId_CallsDelete() {
         Long orderId = 1L;
-
-        doNothing().when(orderRepository).deleteById(orderId);
+        Order order = orderOf(orderId, "Pending");
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
         orderService.deleteOrderById(orderId);
 
-        verify(orderRepository, times(1)).deleteById(orderId);
+        verify(orderRepository, times(1)).delete(order);
+        verify(outboxPublisher).publish(eq(OrderEvent.AGGREGATE), eq(orderId), eq(OrderEvent.DELETED), any(OrderEvent.class));
+    }
+
+    @Test
+    void deleteOrderById_UnknownId_PublishesNothing() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+
+        orderService.deleteOrderById(1L);
+
+        verify(orderRepository, never()).delete(any());
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    @Test
+    void getOrderHistory_FirstPage_StartsBelowToAndReturnsCursor() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        List<OrderHistoryView> rows = List.of(
+                view(3L, Instant.parse("2024-01-20T00:00:00Z")),
+                view(2L, Instant.parse("2024-01-10T00:00:00Z")),
+                view(1L, Instant.parse("2024-01-05T00:00:00Z")));
+        when(orderRepository.findHistoryPage(7L, from, to, 0L, Limit.of(3))).thenReturn(rows);
+
+        CursorPageDto<OrderHistoryEntryDto> page = orderService.getOrderHistory(7L, from, to, null, 2);
+
+        assertEquals(List.of(3L, 2L), page.getItems().stream().map(OrderHistoryEntryDto::getId).toList());
+        assertEquals(2, page.getItems().getFirst().getItemCount());
+        assertEquals(new KeysetCursor(Instant.parse("2024-01-10T00:00:00Z"), 2L), KeysetCursor.decode(page.getNextCursor()));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void getOrderHistory_WithCursor_ContinuesBeforeIt() {
+        Instant cursorDate = Instant.parse("2024-01-10T00:00:00Z");
+        String cursor = new KeysetCursor(cursorDate, 2L).encode();
+        when(orderRepository.findHistoryPage(eq(7L), any(), eq(cursorDate), eq(2L), eq(Limit.of(3)))).thenReturn(List.of());
+
+        CursorPageDto<OrderHistoryEntryDto> page = orderService.getOrderHistory(7L, null, null, cursor, 2);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void getOrderHistory_UnknownCustomer_ThrowsResourceNotFoundException() {
+        when(orderRepository.findHistoryPage(eq(7L), any(), any(), any(), any())).thenReturn(List.of());
+        when(customerRepository.existsById(7L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.getOrderHistory(7L, null, null, null, OrderService.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void getOrderHistory_FromNotBeforeTo_ThrowsBadRequestException() {
+        Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertThrows(BadRequestException.class, () -> orderService.getOrderHistory(7L, instant, instant, null, 10));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static OrderHistoryView view(Long id, Instant orderDate) {
+        OrderHistoryView view = mock(OrderHistoryView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getOrderDate()).thenReturn(orderDate);
+        when(view.getStatus()).thenReturn("Pending");
+        when(view.getTotal()).thenReturn(BigDecimal.TEN);
+        when(view.getItemCount()).thenReturn(2L);
+        return view;
+    }
+
+    @Test
+    void getOrderDtosByIds_AttachesItemIdsFromOneBatchedQuery() {
+        OrderView order = mock(OrderView.class);
+        when(order.getId()).thenReturn(9L);
+        when(order.getCustomerId()).thenReturn(7L);
+        when(order.getStatus()).thenReturn("Pending");
+        OrderItemIdView firstItem = itemId(9L, 90L);
+        OrderItemIdView secondItem = itemId(9L, 91L);
+        when(orderRepository.findViewsByIdIn(List.of(8L, 9L))).thenReturn(List.of(order));
+        when(orderRepository.findOrderItemIdsByOrderIds(List.of(9L))).thenReturn(List.of(firstItem, secondItem));
+
+        MultiGetDto<OrderDto> result = orderService.getOrderDtosByIds(List.of(8L, 9L));
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(7L, result.getItems().getFirst().getCustomerId());
+        assertEquals(List.of(90L, 91L), result.getItems().getFirst().getOrderItemIds());
+        assertEquals(List.of(8L), result.getMissingIds());
+    }
+
+    private static OrderItemIdView itemId(Long orderId, Long orderItemId) {
+        OrderItemIdView view = mock(OrderItemIdView.class);
+        when(view.getOrderId()).thenReturn(orderId);
+        when(view.getOrderItemId()).thenReturn(orderItemId);
+        return view;
+    }
+
+    private static Order orderOf(Long id, String status) {
+        Order order = new Order(id);
+        order.setCustomer(new Customer(33L));
+        order.setStatus(status);
+        return order;
     }
-}
\ No newline at end of file
+}
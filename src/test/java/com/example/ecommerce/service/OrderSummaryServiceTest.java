@@ -0,0 +1,161 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
+import com.example.ecommerce.dto.OrderSummaryDto;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.OrderSummary;
+import com.example.ecommerce.model.projection.OrderSummarySource;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderSummaryServiceTest {
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderSummaryService orderSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void refresh_NewOrder_SavesRowBuiltFromCurrentState() {
+        OrderSummarySource source = source(new BigDecimal("50.00"), 3, new BigDecimal("20.00"));
+        when(orderSummaryRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findSummarySource(1L, OrderSummaryService.PAID_STATUS)).thenReturn(Optional.of(source));
+
+        orderSummaryService.refresh(1L);
+
+        // The row is seeded before it is locked, so two first events for the order never collide on the key
+        InOrder inOrder = inOrder(orderSummaryRepository);
+        inOrder.verify(orderSummaryRepository).insertIfAbsent(1L);
+        inOrder.verify(orderSummaryRepository).findByIdForUpdate(1L);
+        ArgumentCaptor<OrderSummary> saved = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(orderSummaryRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getOrderId());
+        assertEquals(33L, saved.getValue().getCustomerId());
+        assertEquals("Pending", saved.getValue().getStatus());
+        assertEquals(3, saved.getValue().getItemCount());
+        assertEquals(new BigDecimal("20.00"), saved.getValue().getPaidAmount());
+        assertNotNull(saved.getValue().getRefreshedAt());
+    }
+
+    @Test
+    void refresh_ExistingRow_OverwritesInsteadOfAccumulating() {
+        OrderSummary existing = summary(1L, Instant.parse("2024-05-01T00:00:00Z"));
+        existing.setItemCount(2);
+        OrderSummarySource source = source(new BigDecimal("50.00"), 3, BigDecimal.ZERO);
+        when(orderSummaryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(orderRepository.findSummarySource(1L, OrderSummaryService.PAID_STATUS)).thenReturn(Optional.of(source));
+
+        // The same event delivered twice leaves the same row
+        orderSummaryService.refresh(1L);
+        orderSummaryService.refresh(1L);
+
+        assertEquals(3, existing.getItemCount());
+        verify(orderSummaryRepository, times(2)).save(existing);
+    }
+
+    @Test
+    void refresh_DeletedOrder_RemovesRow() {
+        OrderSummary existing = summary(1L, Instant.parse("2024-05-01T00:00:00Z"));
+        when(orderSummaryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(orderRepository.findSummarySource(1L, OrderSummaryService.PAID_STATUS)).thenReturn(Optional.empty());
+
+        orderSummaryService.refresh(1L);
+
+        verify(orderSummaryRepository).delete(existing);
+        verify(orderSummaryRepository, never()).save(any());
+    }
+
+    @Test
+    void getSummary_MissingRow_ThrowsResourceNotFoundException() {
+        when(orderSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderSummaryService.getSummary(1L));
+    }
+
+    @Test
+    void getSummaries_CustomerAndStatus_UsesCombinedFinderAndReturnsCursor() {
+        OrderSummary newest = summary(5L, Instant.parse("2024-05-03T00:00:00Z"));
+        OrderSummary older = summary(4L, Instant.parse("2024-05-02T00:00:00Z"));
+        OrderSummary oldest = summary(3L, Instant.parse("2024-05-01T00:00:00Z"));
+        when(orderSummaryRepository.findPageByCustomerIdAndStatus(
+                eq(33L), eq("Pending"), eq(OrderService.EARLIEST), eq(OrderService.LATEST), eq(0L), eq(Limit.of(3))))
+                .thenReturn(List.of(newest, older, oldest));
+
+        CursorPageDto<OrderSummaryDto> page = orderSummaryService.getSummaries("Pending", 33L, null, null, null, 2);
+
+        assertEquals(List.of(5L, 4L), page.getItems().stream().map(OrderSummaryDto::getOrderId).toList());
+        assertEquals(new KeysetCursor(older.getOrderDate(), 4L).encode(), page.getNextCursor());
+        verify(orderSummaryRepository, never()).findPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void getSummaries_StatusOnly_UsesStatusFinderAndComputesOutstanding() {
+        OrderSummary partlyPaid = summary(5L, Instant.parse("2024-05-03T00:00:00Z"));
+        partlyPaid.setPaidAmount(new BigDecimal("30.00"));
+        when(orderSummaryRepository.findPageByStatus(eq("Pending"), any(), any(), any(), any()))
+                .thenReturn(List.of(partlyPaid));
+
+        CursorPageDto<OrderSummaryDto> page = orderSummaryService.getSummaries("Pending", null, null, null, null, 20);
+
+        assertEquals(new BigDecimal("20.00"), page.getItems().getFirst().getOutstandingAmount());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getSummaries_FromNotBeforeTo_ThrowsBadRequestException() {
+        Instant at = Instant.parse("2024-05-01T00:00:00Z");
+
+        assertThrows(BadRequestException.class, () -> orderSummaryService.getSummaries(null, null, at, at, null, 20));
+        verifyNoInteractions(orderSummaryRepository);
+    }
+
+    private static OrderSummary summary(Long orderId, Instant orderDate) {
+        OrderSummary summary = new OrderSummary(orderId);
+        summary.setCustomerId(33L);
+        summary.setStatus("Pending");
+        summary.setOrderDate(orderDate);
+        summary.setTotal(new BigDecimal("50.00"));
+        summary.setPaidAmount(BigDecimal.ZERO);
+        return summary;
+    }
+
+    private static OrderSummarySource source(BigDecimal total, long itemCount, BigDecimal paidAmount) {
+        OrderSummarySource source = mock(OrderSummarySource.class);
+        when(source.getCustomerId()).thenReturn(33L);
+        when(source.getStatus()).thenReturn("Pending");
+        when(source.getOrderDate()).thenReturn(Instant.parse("2024-05-01T00:00:00Z"));
+        when(source.getTotal()).thenReturn(total);
+        when(source.getItemCount()).thenReturn(itemCount);
+        when(source.getPaidAmount()).thenReturn(paidAmount);
+        return source;
+    }
+}
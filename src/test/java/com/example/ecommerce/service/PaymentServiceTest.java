@@ -1,6 +1,11 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.PaymentDto;
+import com.example.ecommerce.event.PaymentEvent;
 import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.projection.PaymentView;
+import com.example.ecommerce.outbox.OutboxPublisher;
 import com.example.ecommerce.repository.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +25,9 @@ class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -116,7 +124,7 @@ class PaymentServiceTest {
 
     @Test
     void createPayment_SavesAndReturnsPayment() {
-        Payment payment = new Payment();
+        Payment payment = new Payment(8L);
         payment.setAmount(BigDecimal.valueOf(100.0));
         payment.setStatus("Completed");
 
@@ -127,6 +135,7 @@ class PaymentServiceTest {
         assertNotNull(createdPayment);
         assertEquals(BigDecimal.valueOf(100.0), createdPayment.getAmount());
         verify(paymentRepository, times(1)).save(payment);
+        verify(outboxPublisher).publish(eq(PaymentEvent.AGGREGATE), eq(8L), eq(PaymentEvent.CREATED), any(PaymentEvent.class));
     }
 
     @Test
@@ -152,6 +161,7 @@ class PaymentServiceTest {
         assertEquals("Pending", result.getStatus());
 
         verify(paymentRepository, times(1)).save(existingPayment);
+        verify(outboxPublisher).publish(eq(PaymentEvent.AGGREGATE), eq(paymentId), eq(PaymentEvent.UPDATED), any(PaymentEvent.class));
     }
 
     @Test
@@ -170,9 +180,33 @@ class PaymentServiceTest {
     @Test
     void deletePayment_ValidId_DeletesPayment() {
         Long paymentId = 1L;
+        Payment payment = new Payment(paymentId);
+        when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
 
         paymentService.deletePayment(paymentId);
 
-        verify(paymentRepository, times(1)).deleteById(paymentId);
+        verify(paymentRepository, times(1)).delete(payment);
+        verify(outboxPublisher).publish(eq(PaymentEvent.AGGREGATE), eq(paymentId), eq(PaymentEvent.DELETED), any(PaymentEvent.class));
+    }
+
+    @Test
+    void getPaymentDtosByIds_KeepsRequestOrderAndReportsMissingIds() {
+        List<PaymentView> views = List.of(view(5L, 40L), view(4L, 41L));
+        when(paymentRepository.findViewsByIdIn(List.of(4L, 6L, 5L))).thenReturn(views);
+
+        MultiGetDto<PaymentDto> result = paymentService.getPaymentDtosByIds(List.of(4L, 6L, 5L));
+
+        assertEquals(List.of(4L, 5L), result.getItems().stream().map(PaymentDto::getId).toList());
+        assertEquals(41L, result.getItems().getFirst().getOrderId());
+        assertEquals(List.of(6L), result.getMissingIds());
+    }
+
+    private static PaymentView view(Long id, Long orderId) {
+        PaymentView view = mock(PaymentView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getOrderId()).thenReturn(orderId);
+        when(view.getAmount()).thenReturn(BigDecimal.TEN);
+        when(view.getStatus()).thenReturn("Completed");
+        return view;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductRatingDto;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.ProductRatingStats;
+import com.example.ecommerce.repository.ProductRatingStatsRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.ecommerce.service.ProductRatingService.APPLY_DELTA_SQL;
+import static com.example.ecommerce.service.ProductRatingService.INSERT_EMPTY_SQL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductRatingServiceTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductRatingStatsRepository ratingStatsRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductRatingService productRatingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void reviewAdded_ExistingStats_AppliesOneRelativeUpdate() {
+        when(jdbcTemplate.update(eq(APPLY_DELTA_SQL), any(Object[].class))).thenReturn(1);
+
+        productRatingService.reviewAdded(10L, 4);
+
+        verify(jdbcTemplate).update(APPLY_DELTA_SQL, 1L, 4L, 0L, 0L, 0L, 1L, 0L, 10L);
+        verify(jdbcTemplate, never()).update(eq(INSERT_EMPTY_SQL), any(Object[].class));
+    }
+
+    @Test
+    void reviewAdded_FirstReview_CreatesRowThenUpdates() {
+        when(jdbcTemplate.update(eq(APPLY_DELTA_SQL), any(Object[].class))).thenReturn(0, 1);
+
+        productRatingService.reviewAdded(10L, 5);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(APPLY_DELTA_SQL, 1L, 5L, 0L, 0L, 0L, 0L, 1L, 10L);
+        inOrder.verify(jdbcTemplate).update(INSERT_EMPTY_SQL, 10L);
+        inOrder.verify(jdbcTemplate).update(APPLY_DELTA_SQL, 1L, 5L, 0L, 0L, 0L, 0L, 1L, 10L);
+    }
+
+    @Test
+    void ratingChanged_MovesOneReviewBetweenBuckets() {
+        when(jdbcTemplate.update(eq(APPLY_DELTA_SQL), any(Object[].class))).thenReturn(1);
+
+        productRatingService.ratingChanged(10L, 2, 5);
+
+        verify(jdbcTemplate).update(APPLY_DELTA_SQL, 0L, 3L, 0L, -1L, 0L, 0L, 1L, 10L);
+    }
+
+    @Test
+    void ratingChanged_SameRating_DoesNothing() {
+        productRatingService.ratingChanged(10L, 3, 3);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void reviewRemoved_SubtractsReview() {
+        when(jdbcTemplate.update(eq(APPLY_DELTA_SQL), any(Object[].class))).thenReturn(1);
+
+        productRatingService.reviewRemoved(10L, 1);
+
+        verify(jdbcTemplate).update(APPLY_DELTA_SQL, -1L, -1L, -1L, 0L, 0L, 0L, 0L, 10L);
+    }
+
+    @Test
+    void getRating_ExistingStats_ReturnsAverageAndDistribution() {
+        when(ratingStatsRepository.findById(10L))
+                .thenReturn(Optional.of(new ProductRatingStats(10L, 4, 15, 0, 0, 1, 1, 2)));
+
+        ProductRatingDto rating = productRatingService.getRating(10L);
+
+        assertEquals(4, rating.getReviewCount());
+        assertEquals(3.75, rating.getAverageRating());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 1L, 5, 2L), rating.getDistribution());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getRating_ProductWithoutReviews_ReturnsEmptyRating() {
+        when(ratingStatsRepository.findById(10L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(10L)).thenReturn(true);
+
+        ProductRatingDto rating = productRatingService.getRating(10L);
+
+        assertEquals(0, rating.getReviewCount());
+        assertEquals(0, rating.getAverageRating());
+        assertEquals(5, rating.getDistribution().size());
+    }
+
+    @Test
+    void getRating_UnknownProduct_ThrowsResourceNotFoundException() {
+        when(ratingStatsRepository.findById(10L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(10L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> productRatingService.getRating(10L));
+    }
+}
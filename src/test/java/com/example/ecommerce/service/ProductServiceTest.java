@@ -1,18 +1,24 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.exception.BadRequestException;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.projection.ProductTagView;
 import com.example.ecommerce.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -53,6 +59,54 @@ class ProductServiceTest {
         assertEquals("Product 2", products.get(1).getName());
     }
 
+    @Test
+    void getProductsAfter_ReturnsNextPage() {
+        Product product = new Product();
+        product.setName("Product 3");
+
+        when(productRepository.findPageAfter(2L, Limit.of(10))).thenReturn(List.of(product));
+
+        List<Product> products = productService.getProductsAfter(2L, 10);
+
+        assertEquals(1, products.size());
+        assertEquals("Product 3", products.get(0).getName());
+    }
+
+    @Test
+    void getProductsAfter_LimitAboveMax_IsCapped() {
+        when(productRepository.findPageAfter(0L, Limit.of(ProductService.MAX_PAGE_SIZE))).thenReturn(List.of());
+
+        productService.getProductsAfter(0L, 100_000);
+
+        verify(productRepository, times(1)).findPageAfter(0L, Limit.of(ProductService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void convertToDtoList_FetchesTagIdsInOneQuery() {
+        Product product1 = new Product(1L);
+        product1.setName("Product 1");
+        Product product2 = new Product(2L);
+        product2.setName("Product 2");
+
+        when(productRepository.findTagIdsByProductIds(List.of(1L, 2L)))
+                .thenReturn(List.of(tagView(1L, 10L), tagView(1L, 11L)));
+
+        List<ProductDto> dtos = productService.convertToDtoList(List.of(product1, product2));
+
+        assertEquals(2, dtos.size());
+        assertEquals(Set.of(10L, 11L), dtos.get(0).getTagIds());
+        assertEquals(Set.of(), dtos.get(1).getTagIds());
+        verify(productRepository, times(1)).findTagIdsByProductIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void convertToDtoList_EmptyList_SkipsTagQuery() {
+        List<ProductDto> dtos = productService.convertToDtoList(List.of());
+
+        assertTrue(dtos.isEmpty());
+        verify(productRepository, never()).findTagIdsByProductIds(any());
+    }
+
     @Test
     void getProductById_ValidId_ReturnsProduct() {
         Long productId = 70L;
@@ -69,6 +123,21 @@ class ProductServiceTest {
         assertEquals("Product 1", foundProduct.getName());
     }
 
+    @Test
+    void getProductDtoById_ValidId_ReturnsDto() {
+        Long productId = 70L;
+        Product product = new Product(productId);
+        product.setName("Product 1");
+        product.setPrice(BigDecimal.valueOf(100));
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        ProductDto productDto = productService.getProductDtoById(productId);
+
+        assertEquals(productId, productDto.getId());
+        assertEquals("Product 1", productDto.getName());
+    }
+
     @Test
     void getProductById_InvalidId_ReturnsEmpty() {
         Long productId = 70L;
@@ -147,4 +216,46 @@ class ProductServiceTest {
 
         verify(productRepository, times(1)).deleteById(productId);
     }
-}
\ No newline at end of file
+
+    private static ProductTagView tagView(Long productId, Long tagId) {
+        return new ProductTagView() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getTagId() {
+                return tagId;
+            }
+        };
+    }
+
+    @Test
+    void getProductDtosByIds_KeepsRequestOrderAndReportsMissingIds() {
+        when(productRepository.findAllById(List.of(2L, 1L, 3L))).thenReturn(List.of(new Product(1L), new Product(2L)));
+        when(productRepository.findTagIdsByProductIds(anyList())).thenReturn(List.of());
+
+        MultiGetDto<ProductDto> result = productService.getProductDtosByIds(List.of(2L, 1L, 3L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(ProductDto::getId).toList());
+        assertEquals(List.of(3L), result.getMissingIds());
+        verify(productRepository, times(1)).findTagIdsByProductIds(anyList());
+    }
+
+    @Test
+    void getProductDtosByIds_TooManyIds_ThrowsBadRequestException() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, MultiGetDto.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> productService.getProductDtosByIds(ids));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductDtosByIds_EmptyId_ThrowsBadRequestException() {
+        List<Long> ids = Arrays.asList(1L, null, 2L);
+
+        assertThrows(BadRequestException.class, () -> productService.getProductDtosByIds(ids));
+        verifyNoInteractions(productRepository);
+    }
+}
@@ -1,14 +1,27 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPageDto;
+import com.example.ecommerce.dto.KeysetCursor;
 import com.example.ecommerce.dto.ReviewDto;
+import com.example.ecommerce.exception.BadRequestException;
 import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.event.ReviewEvent;
+import com.example.ecommerce.model.Customer;
+import com.example.ecommerce.model.Product;
 import com.example.ecommerce.model.Review;
+import com.example.ecommerce.model.projection.ReviewView;
+import com.example.ecommerce.outbox.OutboxPublisher;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.ProductRepository;
 import com.example.ecommerce.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +34,18 @@ class ReviewServiceTest {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private ProductRatingService productRatingService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -79,6 +104,8 @@ class ReviewServiceTest {
         Review review = new Review();
         review.setRating(5);
         review.setComment("Excellent product!");
+        review.setProduct(new Product(10L));
+        review.setCustomer(new Customer(20L));
 
         when(reviewRepository.save(review)).thenReturn(review);
 
@@ -88,6 +115,19 @@ class ReviewServiceTest {
         assertEquals(5, createdReview.getRating());
         assertEquals("Excellent product!", createdReview.getComment());
         verify(reviewRepository, times(1)).save(review);
+        verify(productRatingService).reviewAdded(10L, 5);
+        verify(outboxPublisher).publish(eq(ReviewEvent.AGGREGATE), any(), eq(ReviewEvent.CREATED),
+                argThat(event -> event instanceof ReviewEvent reviewEvent && reviewEvent.customerId() == 20L));
+    }
+
+    @Test
+    void createReview_RatingOutOfRange_ThrowsBadRequestException() {
+        Review review = new Review();
+        review.setRating(6);
+        review.setProduct(new Product(10L));
+
+        assertThrows(BadRequestException.class, () -> reviewService.createReview(review));
+        verifyNoInteractions(reviewRepository, productRatingService);
     }
 
     @Test
@@ -96,6 +136,7 @@ class ReviewServiceTest {
         Review existingReview = new Review();
         existingReview.setRating(3);
         existingReview.setComment("Average product.");
+        existingReview.setProduct(new Product(10L));
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
 
@@ -112,6 +153,7 @@ class ReviewServiceTest {
         assertEquals("Good product.", result.getComment());
 
         verify(reviewRepository, times(1)).save(existingReview);
+        verify(productRatingService).ratingChanged(10L, 3, 4);
     }
 
     @Test
@@ -134,11 +176,74 @@ class ReviewServiceTest {
         Review review = new Review();
         review.setRating(5);
         review.setComment("Excellent product!");
+        review.setProduct(new Product(10L));
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
 
         reviewService.deleteReview(reviewId);
 
         verify(reviewRepository, times(1)).deleteById(reviewId);
+        verify(productRatingService).reviewRemoved(10L, 5);
+    }
+
+    @Test
+    void deleteReview_UnknownId_LeavesRatingsUntouched() {
+        when(reviewRepository.findById(1L)).thenReturn(Optional.empty());
+
+        reviewService.deleteReview(1L);
+
+        verify(reviewRepository, never()).deleteById(1L);
+        verifyNoInteractions(productRatingService);
+    }
+
+    @Test
+    void getReviewsByProduct_MoreRowsThanLimit_ReturnsPageAndCursor() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        List<ReviewView> rows = List.of(view(3L, now), view(2L, now), view(1L, now.minusSeconds(60)));
+        when(reviewRepository.findFirstPageByProductId(10L, Limit.of(3))).thenReturn(rows);
+
+        CursorPageDto<ReviewDto> page = reviewService.getReviewsByProduct(10L, null, 2);
+
+        assertEquals(List.of(3L, 2L), page.getItems().stream().map(ReviewDto::getId).toList());
+        assertEquals(new KeysetCursor(now, 2L), KeysetCursor.decode(page.getNextCursor()));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getReviewsByProduct_WithCursor_ContinuesBeforeIt() {
+        Instant createdAt = Instant.parse("2024-05-01T10:00:00Z");
+        String cursor = new KeysetCursor(createdAt, 2L).encode();
+        List<ReviewView> rows = List.of(view(1L, createdAt.minusSeconds(60)));
+        when(reviewRepository.findPageByProductIdBefore(10L, createdAt, 2L, Limit.of(3))).thenReturn(rows);
+
+        CursorPageDto<ReviewDto> page = reviewService.getReviewsByProduct(10L, cursor, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getReviewsByProduct_UnknownProduct_ThrowsResourceNotFoundException() {
+        when(reviewRepository.findFirstPageByProductId(10L, Limit.of(21))).thenReturn(List.of());
+        when(productRepository.existsById(10L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> reviewService.getReviewsByProduct(10L, null, ReviewService.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void getReviewsByCustomer_InvalidCursor_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class, () -> reviewService.getReviewsByCustomer(5L, "not-a-cursor", 10));
+        verifyNoInteractions(reviewRepository);
+    }
+
+    private static ReviewView view(Long id, Instant createdAt) {
+        ReviewView view = mock(ReviewView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getProductId()).thenReturn(10L);
+        when(view.getCustomerId()).thenReturn(5L);
+        when(view.getRating()).thenReturn(4);
+        when(view.getCreatedAt()).thenReturn(createdAt);
+        return view;
     }
-}
\ No newline at end of file
+}
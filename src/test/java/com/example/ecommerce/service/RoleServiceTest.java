@@ -1,5 +1,6 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.event.RolesChangedEvent;
 import com.example.ecommerce.exception.ResourceNotFoundException;
 import com.example.ecommerce.model.Role;
 import com.example.ecommerce.repository.RoleRepository;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +22,9 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -102,6 +107,7 @@ class RoleServiceTest {
         assertEquals("New Role", result.getName());
 
         verify(roleRepository, times(1)).save(existingRole);
+        verify(eventPublisher, times(1)).publishEvent(new RolesChangedEvent(roleId));
     }
 
 
@@ -129,5 +135,6 @@ class RoleServiceTest {
         roleService.deleteRole(roleId);
 
         verify(roleRepository, times(1)).deleteById(roleId);
+        verify(eventPublisher, times(1)).publishEvent(new RolesChangedEvent(roleId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.analytics.HyperLogLog;
+import com.example.ecommerce.dto.SalesPointDto;
+import com.example.ecommerce.dto.SalesReportDto;
+import com.example.ecommerce.exception.BadRequestException;
+import com.example.ecommerce.model.SalesRollup;
+import com.example.ecommerce.repository.SalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SalesAnalyticsServiceTest {
+    private static final Instant FROM = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-04-01T00:00:00Z");
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @InjectMocks
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getSales_GroupByProduct_ReturnsPointsAndRangeTotalsByRevenue() {
+        SalesRollup first = rollup(7L, "2024-03-01T00:00:00Z", "10.00", 1, 2);
+        SalesRollup second = rollup(7L, "2024-03-02T00:00:00Z", "15.00", 2, 3);
+        SalesRollup other = rollup(8L, "2024-03-02T00:00:00Z", "40.00", 4, 2);
+        when(salesRollupRepository.findBuckets(SalesRollupService.DAY, SalesRollupService.PRODUCT, FROM, TO))
+                .thenReturn(List.of(first, second, other));
+
+        SalesReportDto report = salesAnalyticsService.getSales("DAY", FROM, TO, "product");
+
+        assertEquals(3, report.getPoints().size());
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), report.getPoints().getFirst().getBucketStart());
+        assertEquals(List.of(8L, 7L), report.getTotals().stream().map(SalesPointDto::getGroupId).toList());
+        SalesPointDto product = report.getTotals().get(1);
+        assertEquals(new BigDecimal("25.00"), product.getRevenue());
+        assertEquals(3, product.getUnits());
+        // Customers 1..2 and 1..3 overlap, the sketches merge to 3 rather than adding up to 5
+        assertEquals(3, product.getDistinctCustomers());
+    }
+
+    @Test
+    void getSales_NoGrouping_ReadsTotalRowsWithoutGroupIds() {
+        when(salesRollupRepository.findBuckets(SalesRollupService.HOUR, SalesRollupService.TOTAL, FROM, FROM.plus(Duration.ofDays(1))))
+                .thenReturn(List.of(rollup(SalesRollupService.TOTAL_ID, "2024-03-01T10:00:00Z", "10.00", 1, 1)));
+
+        SalesReportDto report = salesAnalyticsService.getSales("hour", FROM, FROM.plus(Duration.ofDays(1)), "none");
+
+        assertNull(report.getPoints().getFirst().getGroupId());
+        assertNull(report.getTotals().getFirst().getGroupId());
+    }
+
+    @Test
+    void getSales_InvalidArguments_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> salesAnalyticsService.getSales("week", FROM, TO, "none"));
+        assertThrows(BadRequestException.class, () -> salesAnalyticsService.getSales("day", FROM, TO, "customer"));
+        assertThrows(BadRequestException.class, () -> salesAnalyticsService.getSales("day", TO, FROM, "none"));
+        assertThrows(BadRequestException.class, () -> salesAnalyticsService.getSales("hour", FROM, FROM.plus(Duration.ofDays(93)), "none"));
+        verifyNoInteractions(salesRollupRepository);
+    }
+
+    private static SalesRollup rollup(Long id, String bucketStart, String revenue, long units, long customers) {
+        SalesRollup rollup = new SalesRollup(SalesRollupService.DAY, SalesRollupService.PRODUCT, id, Instant.parse(bucketStart));
+        rollup.setRevenue(new BigDecimal(revenue));
+        rollup.setUnits(units);
+        rollup.setOrderCount(units);
+        HyperLogLog sketch = new HyperLogLog();
+        for (long customer = 1; customer <= customers; customer++) {
+            sketch.add(customer);
+        }
+        rollup.setCustomerSketch(sketch.toBytes());
+        return rollup;
+    }
+}
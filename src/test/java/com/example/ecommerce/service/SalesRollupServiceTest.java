@@ -0,0 +1,128 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.model.SalesRollup;
+import com.example.ecommerce.model.SalesRollupDay;
+import com.example.ecommerce.model.projection.SalesLineView;
+import com.example.ecommerce.repository.OrderItemRepository;
+import com.example.ecommerce.repository.SalesRollupDayRepository;
+import com.example.ecommerce.repository.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SalesRollupServiceTest {
+    private static final Instant FIRST_DAY = Instant.parse("2024-03-10T00:00:00Z");
+    private static final Instant SECOND_DAY = Instant.parse("2024-03-11T00:00:00Z");
+
+    private final SalesRollupRepository salesRollupRepository = mock(SalesRollupRepository.class);
+    private final SalesRollupDayRepository salesRollupDayRepository = mock(SalesRollupDayRepository.class);
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private final SalesRollupService salesRollupService = new SalesRollupService(
+            salesRollupRepository, salesRollupDayRepository, orderItemRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), true, 20, Duration.ofMinutes(1));
+
+    @Test
+    void markDirty_SeedsTheDayBeforeLockingIt() {
+        SalesRollupDay day = new SalesRollupDay(FIRST_DAY);
+        day.setDirtyHours(1);
+        when(salesRollupDayRepository.findByIdForUpdate(FIRST_DAY)).thenReturn(Optional.of(day));
+
+        salesRollupService.markDirty(FIRST_DAY.plus(Duration.ofHours(14)).plusSeconds(90));
+
+        // A concurrent first mark waits on the seeded row instead of failing on the primary key
+        InOrder inOrder = inOrder(salesRollupDayRepository);
+        inOrder.verify(salesRollupDayRepository).insertIfAbsent(FIRST_DAY);
+        inOrder.verify(salesRollupDayRepository).findByIdForUpdate(FIRST_DAY);
+        inOrder.verify(salesRollupDayRepository).save(day);
+        assertEquals(1 | 1 << 14, day.getDirtyHours());
+    }
+
+    @Test
+    void refreshDirtyDays_UncategorizedProduct_CountsForProductAndTotalOnly() {
+        SalesRollupDay day = dirtyDay(FIRST_DAY);
+        SalesLineView uncategorized = line(5L, null);
+        when(salesRollupDayRepository.findDirty(any(), any())).thenReturn(List.of(day), List.of());
+        when(orderItemRepository.findSalesLines(eq(FIRST_DAY), any(), any())).thenReturn(List.of(uncategorized));
+        List<SalesRollup> saved = new ArrayList<>();
+        when(salesRollupRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        assertEquals(1, salesRollupService.refreshDirtyDays());
+
+        List<String> hourly = saved.stream()
+                .filter(rollup -> rollup.getGranularity().equals(SalesRollupService.HOUR))
+                .map(SalesRollup::getDimension)
+                .sorted()
+                .toList();
+        assertEquals(List.of(SalesRollupService.PRODUCT, SalesRollupService.TOTAL), hourly);
+        assertEquals(0, day.getDirtyHours());
+    }
+
+    @Test
+    void refreshDirtyDays_FailingDay_BacksOffAndLaterDaysAreStillRebuilt() {
+        SalesRollupDay failing = dirtyDay(FIRST_DAY);
+        SalesRollupDay next = dirtyDay(SECOND_DAY);
+        when(salesRollupDayRepository.findDirty(any(), any())).thenReturn(List.of(failing), List.of(next), List.of());
+        when(salesRollupDayRepository.findByIdForUpdate(FIRST_DAY)).thenReturn(Optional.of(failing));
+        when(orderItemRepository.findSalesLines(eq(FIRST_DAY), any(), any())).thenThrow(new IllegalStateException("bad line"));
+        when(orderItemRepository.findSalesLines(eq(SECOND_DAY), any(), any())).thenReturn(List.of());
+
+        assertEquals(2, salesRollupService.refreshDirtyDays());
+
+        // The failed day keeps its hours for the retry
+        assertEquals(1, failing.getDirtyHours());
+        assertEquals(1, failing.getFailedAttempts());
+        assertTrue(failing.getRetryAt().isAfter(Instant.now()));
+        assertTrue(failing.getLastError().contains("bad line"));
+        assertEquals(0, next.getDirtyHours());
+        assertEquals(0, next.getFailedAttempts());
+    }
+
+    @Test
+    void refreshDirtyDays_RepeatedFailures_DoubleTheBackoff() {
+        SalesRollupDay failing = dirtyDay(FIRST_DAY);
+        failing.setFailedAttempts(2);
+        when(salesRollupDayRepository.findDirty(any(), any())).thenReturn(List.of(failing), List.of());
+        when(salesRollupDayRepository.findByIdForUpdate(FIRST_DAY)).thenReturn(Optional.of(failing));
+        when(orderItemRepository.findSalesLines(any(), any(), any())).thenThrow(new IllegalStateException("bad line"));
+
+        salesRollupService.refreshDirtyDays();
+
+        assertEquals(3, failing.getFailedAttempts());
+        // Third failure in a row: 1m doubled twice
+        assertTrue(failing.getRetryAt().isAfter(Instant.now().plus(Duration.ofMinutes(3))));
+    }
+
+    private static SalesRollupDay dirtyDay(Instant dayStart) {
+        SalesRollupDay day = new SalesRollupDay(dayStart);
+        day.setDirtyHours(1);
+        return day;
+    }
+
+    private static SalesLineView line(Long productId, Long categoryId) {
+        SalesLineView line = mock(SalesLineView.class);
+        when(line.getOrderId()).thenReturn(1L);
+        when(line.getCustomerId()).thenReturn(2L);
+        when(line.getProductId()).thenReturn(productId);
+        when(line.getCategoryId()).thenReturn(categoryId);
+        when(line.getQuantity()).thenReturn(1);
+        when(line.getPrice()).thenReturn(new BigDecimal("10.00"));
+        return line;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.analytics.TrendingWindow;
+import com.example.ecommerce.dto.MultiGetDto;
+import com.example.ecommerce.dto.ProductDto;
+import com.example.ecommerce.dto.TrendingProductDto;
+import com.example.ecommerce.event.ProductsSoldEvent;
+import com.example.ecommerce.model.TrendingSnapshot;
+import com.example.ecommerce.repository.TrendingSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TrendingProductsServiceTest {
+    private static final Duration BUCKET_WIDTH = Duration.ofMinutes(5);
+
+    private final TrendingSnapshotRepository trendingSnapshotRepository = mock(TrendingSnapshotRepository.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TrendingProductsService trendingProductsService = new TrendingProductsService(
+            trendingSnapshotRepository, productService, objectMapper,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            BUCKET_WIDTH, 24, 10, 4, "node-a", true);
+
+    @Test
+    void getTrending_OtherNodesSnapshots_AreMergedIntoTheRanking() throws Exception {
+        Instant now = Instant.now();
+        TrendingWindow otherNode = new TrendingWindow(BUCKET_WIDTH, 24, 10, 4);
+        otherNode.record(now, 2L, 7L, 5, now);
+        when(trendingSnapshotRepository.findAllByNodeIdNotAndTakenAtAfter(eq("node-a"), any())).thenReturn(List.of(
+                new TrendingSnapshot("node-b", now, objectMapper.writeValueAsString(otherNode.snapshot())),
+                new TrendingSnapshot("node-c", now, "not json")));
+        when(productService.getProductDtosByIds(anyList())).thenReturn(new MultiGetDto<>(
+                List.of(product(1L), product(2L)), List.of()));
+
+        trendingProductsService.onProductsSold(new ProductsSoldEvent(now, List.of(
+                new ProductsSoldEvent.Line(1L, 7L, 3),
+                new ProductsSoldEvent.Line(2L, 7L, 1))));
+        trendingProductsService.syncSnapshots();
+
+        List<TrendingProductDto> trending = trendingProductsService.getTrending(7L, 15, 10);
+        assertEquals(List.of(2L, 1L), trending.stream().map(TrendingProductDto::getProductId).toList());
+        assertEquals(6, trending.getFirst().getUnitsSold());
+    }
+
+    @Test
+    void saveSnapshot_DeletesSnapshotsOlderThanTheWindow() {
+        Instant before = Instant.now();
+
+        trendingProductsService.saveSnapshot();
+
+        verify(trendingSnapshotRepository).save(argThat(snapshot -> snapshot.getNodeId().equals("node-a")));
+        // 24 buckets of 5 minutes
+        verify(trendingSnapshotRepository).deleteTakenBefore(argThat(cutoff ->
+                !cutoff.isBefore(before.minus(Duration.ofHours(2))) && !cutoff.isAfter(Instant.now().minus(Duration.ofHours(2)))));
+    }
+
+    private static ProductDto product(Long id) {
+        ProductDto product = new ProductDto(id);
+        product.setName("Product " + id);
+        product.setCategoryId(7L);
+        return product;
+    }
+}